@@ -0,0 +1,28 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+
+package minetweaker;
+
+import java.security.MessageDigest;
+
+/**
+ * Bracket handler whose resolution depends on game state, such as the set of
+ * registered items.
+ * 
+ * Compiled scripts are cached and only reused while all bracket handlers would
+ * resolve the same way, so these handlers must add the state they depend on to
+ * the registry fingerprint.
+ * 
+ * @author Stan Hebben
+ */
+public interface IStatefulBracketHandler extends IBracketHandler {
+	/**
+	 * Adds the state this handler depends on to the given digest.
+	 * 
+	 * @param digest fingerprint digest
+	 */
+	public void updateFingerprint(MessageDigest digest);
+}
@@ -57,6 +57,8 @@ import minetweaker.util.IEventHandler;
 public class MineTweakerImplementationAPI {
 	private static Set<IPlayer> blockInfoPlayers = new HashSet<IPlayer>();
 	private static IEventHandle blockEventHandler = null;
+	private static IEventHandle loginHandler = null;
+	private static IEventHandle logoutHandler = null;
 
 	private static final Map<String, MineTweakerCommand> minetweakerCommands;
 
@@ -70,6 +72,7 @@ public class MineTweakerImplementationAPI {
 	private static final ListenBlockInfo LISTEN_BLOCK_INFO = new ListenBlockInfo();
 	private static final EventList<ReloadEvent> ONRELOAD = new EventList<ReloadEvent>();
 	private static final EventList<ReloadEvent> ONPOSTRELOAD = new EventList<ReloadEvent>();
+	private static final EventList<ReloadEvent> ONSCRIPTGROUPLOADED = new EventList<ReloadEvent>();
 
 	static {
 		minetweakerCommands = new HashMap<String, MineTweakerCommand>();
@@ -219,7 +222,7 @@ public class MineTweakerImplementationAPI {
 										IItemStack out = shapeless.getOutput();
 										MineTweakerAPI.logError("Could not dump recipe for " + out, ex);
 									} else {
-										MineTweakerAPI.logError("Could not dump recipe", ex)
+										MineTweakerAPI.logError("Could not dump recipe", ex);
 									}
 								}
 							}
@@ -573,6 +576,25 @@ public class MineTweakerImplementationAPI {
 		return ONPOSTRELOAD.add(handler);
 	}
 
+	/**
+	 * Register an event handler to be fired after each script group has been
+	 * executed. Changes collected while scripts run must be applied here, so
+	 * that they are rolled back together with the group that made them.
+	 * 
+	 * @param handler
+	 * @return 
+	 */
+	public static IEventHandle onScriptGroupLoaded(IEventHandler<ReloadEvent> handler) {
+		return ONSCRIPTGROUPLOADED.add(handler);
+	}
+
+	/**
+	 * Called by the tweaker after it has executed a script group.
+	 */
+	public static void scriptGroupLoaded() {
+		ONSCRIPTGROUPLOADED.publish(new ReloadEvent());
+	}
+
 	/**
 	 * Must be called upon server start.
 	 * 
@@ -605,13 +627,22 @@ public class MineTweakerImplementationAPI {
 	 */
 	public static void reload() {
 		blockInfoPlayers.clear();
+		if (blockEventHandler != null) {
+			blockEventHandler.close();
+			blockEventHandler = null;
+		}
 
 		logger.clear();
-		events.clear();
 
-		if (MineTweakerAPI.server != null) {
-			events.onPlayerLoggedIn(LISTEN_LOGIN);
-			events.onPlayerLoggedOut(LISTEN_LOGOUT);
+		// event handlers registered by scripts are unregistered by the tweaker
+		// when rolling back, as unchanged scripts keep theirs
+		if (MineTweakerAPI.server != null && loginHandler == null) {
+			loginHandler = events.onPlayerLoggedIn(LISTEN_LOGIN);
+			logoutHandler = events.onPlayerLoggedOut(LISTEN_LOGOUT);
+		} else if (MineTweakerAPI.server == null && loginHandler != null) {
+			loginHandler.close();
+			logoutHandler.close();
+			loginHandler = logoutHandler = null;
 		}
 //
 //		byte[] currentScript = MineTweakerAPI.tweaker.getScriptData();
@@ -635,6 +666,7 @@ public class MineTweakerImplementationAPI {
 //			System.out.println("First time loading a script, go ahead");
 //		}
 
+		// rolls back changed scripts only (and everything loaded after them)
 		MineTweakerAPI.tweaker.rollback();
 
 		if (MineTweakerAPI.server != null) {
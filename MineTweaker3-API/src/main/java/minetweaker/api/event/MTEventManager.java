@@ -6,6 +6,7 @@
 
 package minetweaker.api.event;
 
+import java.util.List;
 import minetweaker.util.EventList;
 import minetweaker.util.IEventHandler;
 
@@ -14,6 +15,19 @@ import minetweaker.util.IEventHandler;
  * @author Stan
  */
 public class MTEventManager implements IEventManager {
+	private List<IEventHandle> recorder = null;
+
+	/**
+	 * Sets the list to which handles of newly registered event handlers are
+	 * added. Used to keep track of the handlers registered by a script, so
+	 * they can be unregistered when that script is rolled back.
+	 *
+	 * @param recorder handle list, or null to stop recording
+	 */
+	public void setRecorder(List<IEventHandle> recorder) {
+		this.recorder = recorder;
+	}
+
 	public void clear() {
 		elPlayerCrafted.clear();
 		elPlayerSmelted.clear();
@@ -45,7 +59,7 @@ public class MTEventManager implements IEventManager {
 
 	@Override
 	public IEventHandle onPlayerCrafted(IEventHandler<PlayerCraftedEvent> ev) {
-		return elPlayerCrafted.add(ev);
+		return record(elPlayerCrafted.add(ev));
 	}
 
 	public boolean hasPlayerCrafted() {
@@ -64,7 +78,7 @@ public class MTEventManager implements IEventManager {
 
 	@Override
 	public IEventHandle onPlayerSmelted(IEventHandler<PlayerSmeltedEvent> ev) {
-		return elPlayerSmelted.add(ev);
+		return record(elPlayerSmelted.add(ev));
 	}
 
 	public boolean hasPlayerSmelted() {
@@ -83,7 +97,7 @@ public class MTEventManager implements IEventManager {
 
 	@Override
 	public IEventHandle onPlayerChangedDimension(IEventHandler<PlayerChangedDimensionEvent> ev) {
-		return elPlayerChangedDimension.add(ev);
+		return record(elPlayerChangedDimension.add(ev));
 	}
 
 	public boolean hasPlayerChangedDimension() {
@@ -101,7 +115,7 @@ public class MTEventManager implements IEventManager {
 	private final EventList<PlayerLoggedInEvent> elPlayerLoggedIn = new EventList<PlayerLoggedInEvent>();
 
 	public IEventHandle onPlayerLoggedIn(IEventHandler<PlayerLoggedInEvent> ev) {
-		return elPlayerLoggedIn.add(ev);
+		return record(elPlayerLoggedIn.add(ev));
 	}
 
 	public boolean hasPlayerLoggedIn() {
@@ -119,7 +133,7 @@ public class MTEventManager implements IEventManager {
 	private final EventList<PlayerLoggedOutEvent> elPlayerLoggedOut = new EventList<PlayerLoggedOutEvent>();
 
 	public IEventHandle onPlayerLoggedOut(IEventHandler<PlayerLoggedOutEvent> ev) {
-		return elPlayerLoggedOut.add(ev);
+		return record(elPlayerLoggedOut.add(ev));
 	}
 
 	public boolean hasPlayerLoggedOut() {
@@ -138,7 +152,7 @@ public class MTEventManager implements IEventManager {
 
 	@Override
 	public IEventHandle onPlayerRespawn(IEventHandler<PlayerRespawnEvent> ev) {
-		return elPlayerRespawn.add(ev);
+		return record(elPlayerRespawn.add(ev));
 	}
 
 	public boolean hasPlayerRespawn() {
@@ -157,7 +171,7 @@ public class MTEventManager implements IEventManager {
 
 	@Override
 	public IEventHandle onPlayerAttackEntity(IEventHandler<PlayerAttackEntityEvent> ev) {
-		return elPlayerAttackEntity.add(ev);
+		return record(elPlayerAttackEntity.add(ev));
 	}
 
 	public boolean hasPlayerAttackEntity() {
@@ -176,7 +190,7 @@ public class MTEventManager implements IEventManager {
 
 	@Override
 	public IEventHandle onPlayerBonemeal(IEventHandler<PlayerBonemealEvent> ev) {
-		return elPlayerBonemeal.add(ev);
+		return record(elPlayerBonemeal.add(ev));
 	}
 
 	public boolean hasPlayerBonemeal() {
@@ -195,7 +209,7 @@ public class MTEventManager implements IEventManager {
 
 	@Override
 	public IEventHandle onPlayerInteractEntity(IEventHandler<PlayerInteractEntityEvent> ev) {
-		return elPlayerInteractEntity.add(ev);
+		return record(elPlayerInteractEntity.add(ev));
 	}
 
 	public boolean hasPlayerInteractEntity() {
@@ -214,7 +228,7 @@ public class MTEventManager implements IEventManager {
 
 	@Override
 	public IEventHandle onPlayerPickup(IEventHandler<PlayerPickupEvent> ev) {
-		return elPlayerPickup.add(ev);
+		return record(elPlayerPickup.add(ev));
 	}
 
 	public boolean hasPlayerPickup() {
@@ -233,7 +247,7 @@ public class MTEventManager implements IEventManager {
 
 	@Override
 	public IEventHandle onPlayerPickupItem(IEventHandler<PlayerPickupItemEvent> ev) {
-		return elPlayerPickupItem.add(ev);
+		return record(elPlayerPickupItem.add(ev));
 	}
 
 	public boolean hasPlayerPickupItem() {
@@ -252,7 +266,7 @@ public class MTEventManager implements IEventManager {
 
 	@Override
 	public IEventHandle onPlayerFillBucket(IEventHandler<PlayerFillBucketEvent> ev) {
-		return elPlayerFillBucket.add(ev);
+		return record(elPlayerFillBucket.add(ev));
 	}
 
 	public boolean hasPlayerFillBucket() {
@@ -271,7 +285,7 @@ public class MTEventManager implements IEventManager {
 
 	@Override
 	public IEventHandle onPlayerDeathDrops(IEventHandler<PlayerDeathDropsEvent> ev) {
-		return elPlayerDeathDrops.add(ev);
+		return record(elPlayerDeathDrops.add(ev));
 	}
 
 	public boolean hasPlayerDeathDrops() {
@@ -290,7 +304,7 @@ public class MTEventManager implements IEventManager {
 
 	@Override
 	public IEventHandle onPlayerInteract(IEventHandler<PlayerInteractEvent> ev) {
-		return elPlayerInteract.add(ev);
+		return record(elPlayerInteract.add(ev));
 	}
 
 	public boolean hasPlayerInteract() {
@@ -309,7 +323,7 @@ public class MTEventManager implements IEventManager {
 
 	@Override
 	public IEventHandle onPlayerOpenContainer(IEventHandler<PlayerOpenContainerEvent> ev) {
-		return elPlayerOpenContainer.add(ev);
+		return record(elPlayerOpenContainer.add(ev));
 	}
 
 	public boolean hasPlayerOpenContainer() {
@@ -328,7 +342,7 @@ public class MTEventManager implements IEventManager {
 
 	@Override
 	public IEventHandle onPlayerPickupXp(IEventHandler<PlayerPickupXpEvent> ev) {
-		return elPlayerPickupXp.add(ev);
+		return record(elPlayerPickupXp.add(ev));
 	}
 
 	public boolean hasPlayerPickupXp() {
@@ -347,7 +361,7 @@ public class MTEventManager implements IEventManager {
 
 	@Override
 	public IEventHandle onPlayerSleepInBed(IEventHandler<PlayerSleepInBedEvent> ev) {
-		return elPlayerSleepInBed.add(ev);
+		return record(elPlayerSleepInBed.add(ev));
 	}
 
 	public boolean hasPlayerSleepInBed() {
@@ -366,7 +380,7 @@ public class MTEventManager implements IEventManager {
 
 	@Override
 	public IEventHandle onPlayerUseHoe(IEventHandler<PlayerUseHoeEvent> ev) {
-		return elPlayerUseHoe.add(ev);
+		return record(elPlayerUseHoe.add(ev));
 	}
 
 	public boolean hasPlayerUseHoe() {
@@ -385,7 +399,7 @@ public class MTEventManager implements IEventManager {
 
 	@Override
 	public IEventHandle onPlayerUseItemStart(IEventHandler<PlayerUseItemStartEvent> ev) {
-		return elPlayerUseItemStart.add(ev);
+		return record(elPlayerUseItemStart.add(ev));
 	}
 
 	public boolean hasPlayerUseItemStart() {
@@ -404,7 +418,7 @@ public class MTEventManager implements IEventManager {
 
 	@Override
 	public IEventHandle onPlayerUseItemTick(IEventHandler<PlayerUseItemTickEvent> ev) {
-		return elPlayerUseItemTick.add(ev);
+		return record(elPlayerUseItemTick.add(ev));
 	}
 
 	public boolean hasPlayerUseItemTick() {
@@ -414,4 +428,16 @@ public class MTEventManager implements IEventManager {
 	public void publishPlayerUseItemTick(PlayerUseItemTickEvent event) {
 		elPlayerUseItemTick.publish(event);
 	}
+
+	// #######################
+	// ### Private methods ###
+	// #######################
+
+	private IEventHandle record(IEventHandle handle) {
+		if (recorder != null) {
+			recorder.add(handle);
+		}
+
+		return handle;
+	}
 }
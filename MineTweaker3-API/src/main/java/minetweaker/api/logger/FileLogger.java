@@ -6,63 +6,163 @@
 
 package minetweaker.api.logger;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import minetweaker.runtime.ILogger;
 
 /**
+ * Logs messages to a file.
+ *
+ * A synchronous logger writes and flushes every message immediately. An
+ * asynchronous logger hands messages to a background thread instead, which
+ * writes them in batches; logging then only blocks when the queue is full.
+ * Errors are always on disk by the time logError returns, and the remaining
+ * messages are written when the logger is closed or the JVM shuts down.
  *
  * @author Stan Hebben
  */
 public class FileLogger implements ILogger {
+	private static final int QUEUE_SIZE = 4096;
+	private static final String CLOSE = new String("close");
+
 	private final Writer writer;
-	private final PrintWriter printWriter;
+
+	private final BlockingQueue<String> queue;
+	private final Thread writerThread;
+	private final Object writtenLock = new Object();
+	private long enqueued = 0;
+	private long written = 0;
+	private boolean closed = false;
 
 	public FileLogger(File output) {
+		this(output, false);
+	}
+
+	public FileLogger(File output, boolean async) {
 		try {
-			writer = new OutputStreamWriter(new FileOutputStream(output), "utf-8");
-			printWriter = new PrintWriter(writer);
+			writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(output), "utf-8"));
 		} catch (UnsupportedEncodingException ex) {
 			throw new RuntimeException("What the heck?");
 		} catch (FileNotFoundException ex) {
 			throw new RuntimeException("Could not open log file " + output);
 		}
+
+		if (async) {
+			queue = new ArrayBlockingQueue<String>(QUEUE_SIZE);
+			writerThread = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					drain();
+				}
+			}, "MineTweaker log writer");
+			writerThread.setDaemon(true);
+			writerThread.start();
+
+			Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+				@Override
+				public void run() {
+					close();
+				}
+			}, "MineTweaker log shutdown"));
+		} else {
+			queue = null;
+			writerThread = null;
+		}
 	}
 
-	@Override
-	public void logCommand(String message) {
+	/**
+	 * Waits until all messages logged so far have been written to disk.
+	 */
+	public void flush() {
+		if (queue == null) {
+			synchronized (writer) {
+				try {
+					writer.flush();
+				} catch (IOException ex) {
+					throw new RuntimeException(ex);
+				}
+			}
+			return;
+		}
+
+		long target;
+		synchronized (this) {
+			target = enqueued;
+		}
+
+		synchronized (writtenLock) {
+			while (written < target && writerThread.isAlive()) {
+				try {
+					writtenLock.wait();
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes all pending messages and closes the log file. Messages logged
+	 * afterwards are discarded.
+	 */
+	public void close() {
+		if (queue == null) {
+			synchronized (writer) {
+				try {
+					writer.close();
+				} catch (IOException ex) {
+					throw new RuntimeException(ex);
+				}
+			}
+			return;
+		}
+
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+
+			closed = true;
+			try {
+				queue.put(CLOSE);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
 		try {
-			writer.write(message + "\n");
-			writer.flush();
-		} catch (IOException ex) {
-			throw new RuntimeException(ex);
+			writerThread.join();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
 		}
 	}
 
+	@Override
+	public void logCommand(String message) {
+		write(message + "\n", false);
+	}
+
 	@Override
 	public void logInfo(String message) {
-		try {
-			writer.write("INFO: " + message + "\n");
-			writer.flush();
-		} catch (IOException ex) {
-			throw new RuntimeException(ex);
-		}
+		write("INFO: " + message + "\n", false);
 	}
 
 	@Override
 	public void logWarning(String message) {
-		try {
-			writer.write("WARNING: " + message + "\n");
-			writer.flush();
-		} catch (IOException ex) {
-			throw new RuntimeException(ex);
-		}
+		write("WARNING: " + message + "\n", false);
 	}
 
 	@Override
@@ -72,14 +172,95 @@ public class FileLogger implements ILogger {
 
 	@Override
 	public void logError(String message, Throwable exception) {
-		try {
-			writer.write("ERROR: " + message + "\n");
-			if (exception != null) {
-				exception.printStackTrace(printWriter);
+		if (exception == null) {
+			write("ERROR: " + message + "\n", true);
+		} else {
+			StringWriter stackTrace = new StringWriter();
+			exception.printStackTrace(new PrintWriter(stackTrace));
+			write("ERROR: " + message + "\n" + stackTrace, true);
+		}
+	}
+
+	// #######################
+	// ### Private methods ###
+	// #######################
+
+	private void write(String text, boolean flush) {
+		if (queue == null) {
+			synchronized (writer) {
+				try {
+					writer.write(text);
+					writer.flush();
+				} catch (IOException ex) {
+					throw new RuntimeException(ex);
+				}
+			}
+			return;
+		}
+
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+
+			try {
+				queue.put(text);
+				enqueued++;
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return;
 			}
-			writer.flush();
+		}
+
+		if (flush) {
+			flush();
+		}
+	}
+
+	private void drain() {
+		List<String> batch = new ArrayList<String>();
+		boolean closing = false;
+
+		while (!closing) {
+			try {
+				batch.add(queue.take());
+			} catch (InterruptedException ex) {
+				continue;
+			}
+			queue.drainTo(batch);
+
+			int count = 0;
+			for (String text : batch) {
+				if (text == CLOSE) {
+					closing = true;
+					break;
+				}
+				count++;
+			}
+
+			try {
+				for (int i = 0; i < count; i++) {
+					writer.write(batch.get(i));
+				}
+				writer.flush();
+			} catch (IOException ex) {
+				// the rest of the batch is lost, but must still count as
+				// processed, or flush() would wait for it forever
+				ex.printStackTrace();
+			} finally {
+				batch.clear();
+
+				synchronized (writtenLock) {
+					written += count;
+					writtenLock.notifyAll();
+				}
+			}
+		}
+
+		try {
+			writer.close();
 		} catch (IOException ex) {
-			throw new RuntimeException(ex);
+			ex.printStackTrace();
 		}
 	}
 }
@@ -0,0 +1,39 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+
+package minetweaker.api.logger;
+
+/**
+ * Minimum level of the messages to be logged. Command output is always logged.
+ *
+ * @author Stan Hebben
+ */
+public enum LogLevel {
+	INFO,
+	WARNING,
+	ERROR;
+
+	/**
+	 * Parses a log level name, case insensitive.
+	 *
+	 * @param name level name, may be null
+	 * @param defaultLevel level to return if the name is null or invalid
+	 * @return parsed level
+	 */
+	public static LogLevel parse(String name, LogLevel defaultLevel) {
+		if (name == null) {
+			return defaultLevel;
+		}
+
+		for (LogLevel level : values()) {
+			if (level.name().equalsIgnoreCase(name.trim())) {
+				return level;
+			}
+		}
+
+		return defaultLevel;
+	}
+}
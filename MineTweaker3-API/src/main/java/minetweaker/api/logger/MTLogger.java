@@ -19,6 +19,8 @@ public class MTLogger implements ILogger {
 	private final List<ILogger> loggers = new ArrayList<ILogger>();
 	private final List<IPlayer> players = new ArrayList<IPlayer>();
 	private final List<String> unprocessed = new ArrayList<String>();
+	private final ThreadLocal<List<CapturedMessage>> captured = new ThreadLocal<List<CapturedMessage>>();
+	private volatile LogLevel level = LogLevel.INFO;
 
 	public void addLogger(ILogger logger) {
 		loggers.add(logger);
@@ -42,12 +44,80 @@ public class MTLogger implements ILogger {
 		players.remove(player);
 	}
 
+	/**
+	 * Sets the minimum level of the messages to be logged.
+	 *
+	 * @param level log level
+	 */
+	public void setLogLevel(LogLevel level) {
+		this.level = level;
+	}
+
+	/**
+	 * Checks if messages of the given level are logged. Callers should check
+	 * this before building expensive messages.
+	 *
+	 * @param level log level
+	 * @return true if messages of this level are logged
+	 */
+	public boolean isLogging(LogLevel level) {
+		return level.compareTo(this.level) >= 0;
+	}
+
 	public void clear() {
 		unprocessed.clear();
 	}
 
+	/**
+	 * Starts capturing the messages logged by the current thread, instead of
+	 * logging them. Used when logging from multiple threads at once, so the
+	 * messages can be logged afterwards in a predictable order.
+	 */
+	public void startCapture() {
+		captured.set(new ArrayList<CapturedMessage>());
+	}
+
+	/**
+	 * Stops capturing messages on the current thread.
+	 * 
+	 * @return messages captured since startCapture() was called
+	 */
+	public List<CapturedMessage> stopCapture() {
+		List<CapturedMessage> result = captured.get();
+		captured.remove();
+		return result;
+	}
+
+	/**
+	 * Logs previously captured messages.
+	 * 
+	 * @param messages captured messages
+	 */
+	public void replay(List<CapturedMessage> messages) {
+		for (CapturedMessage message : messages) {
+			switch (message.type) {
+				case CapturedMessage.COMMAND:
+					logCommand(message.message);
+					break;
+				case CapturedMessage.INFO:
+					logInfo(message.message);
+					break;
+				case CapturedMessage.WARNING:
+					logWarning(message.message);
+					break;
+				case CapturedMessage.ERROR:
+					logError(message.message, message.exception);
+					break;
+			}
+		}
+	}
+
 	@Override
 	public void logCommand(String message) {
+		if (capture(CapturedMessage.COMMAND, message, null)) {
+			return;
+		}
+
 		for (ILogger logger : loggers) {
 			logger.logCommand(message);
 		}
@@ -55,6 +125,14 @@ public class MTLogger implements ILogger {
 
 	@Override
 	public void logInfo(String message) {
+		if (!isLogging(LogLevel.INFO)) {
+			return;
+		}
+
+		if (capture(CapturedMessage.INFO, message, null)) {
+			return;
+		}
+
 		for (ILogger logger : loggers) {
 			logger.logInfo(message);
 		}
@@ -62,6 +140,14 @@ public class MTLogger implements ILogger {
 
 	@Override
 	public void logWarning(String message) {
+		if (!isLogging(LogLevel.WARNING)) {
+			return;
+		}
+
+		if (capture(CapturedMessage.WARNING, message, null)) {
+			return;
+		}
+
 		for (ILogger logger : loggers) {
 			logger.logWarning(message);
 		}
@@ -84,6 +170,10 @@ public class MTLogger implements ILogger {
 
 	@Override
 	public void logError(String message, Throwable exception) {
+		if (capture(CapturedMessage.ERROR, message, exception)) {
+			return;
+		}
+
 		for (ILogger logger : loggers) {
 			logger.logError(message, exception);
 		}
@@ -98,4 +188,31 @@ public class MTLogger implements ILogger {
 			}
 		}
 	}
+
+	private boolean capture(int type, String message, Throwable exception) {
+		List<CapturedMessage> messages = captured.get();
+		if (messages == null) {
+			return false;
+		}
+
+		messages.add(new CapturedMessage(type, message, exception));
+		return true;
+	}
+
+	public static class CapturedMessage {
+		private static final int COMMAND = 0;
+		private static final int INFO = 1;
+		private static final int WARNING = 2;
+		private static final int ERROR = 3;
+
+		private final int type;
+		private final String message;
+		private final Throwable exception;
+
+		private CapturedMessage(int type, String message, Throwable exception) {
+			this.type = type;
+			this.message = message;
+			this.exception = exception;
+		}
+	}
 }
@@ -0,0 +1,125 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+
+package minetweaker.api.recipes;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import minetweaker.api.item.IIngredient;
+import minetweaker.api.item.IItemDefinition;
+import minetweaker.api.item.IItemStack;
+
+/**
+ * Item prefilter for recipe ingredients. For each ingredient, the item
+ * definitions it can possibly match are collected from its item list, so that
+ * crafting grids containing the wrong items can be rejected without evaluating
+ * the ingredients themselves. Ingredients without an item list (such as
+ * &lt;*&gt;) accept any item.
+ *
+ * Ingredients such as ore dictionary entries can change contents, so filters
+ * are built on first use and rebuilt after invalidateAll() has been called.
+ *
+ * @author Stan Hebben
+ */
+public class IngredientPrefilter {
+	private static final AtomicInteger generation = new AtomicInteger();
+
+	/**
+	 * Invalidates all prefilters. Must be called whenever the contents of
+	 * ingredients may have changed.
+	 */
+	public static void invalidateAll() {
+		generation.incrementAndGet();
+	}
+
+	/**
+	 * Retrieves the current generation, which changes on every call to
+	 * invalidateAll(). Other caches depending on ingredient contents can use
+	 * it to detect changes.
+	 *
+	 * @return current generation
+	 */
+	public static int getGeneration() {
+		return generation.get();
+	}
+
+	private final IIngredient[] ingredients;
+	private volatile Filters filters = null;
+
+	public IngredientPrefilter(IIngredient[] ingredients) {
+		this.ingredients = ingredients;
+	}
+
+	/**
+	 * Checks if the given ingredient has an item filter. If it doesn't, any
+	 * item is accepted and there is no need to look up its definition.
+	 *
+	 * @param ingredient ingredient index
+	 * @return true if the ingredient is filtered
+	 */
+	public boolean isFiltered(int ingredient) {
+		return getFilters().accepted.get(ingredient) != null;
+	}
+
+	/**
+	 * Checks if the given ingredient could possibly accept an item with the
+	 * given definition.
+	 *
+	 * @param ingredient ingredient index
+	 * @param definition item definition
+	 * @return false if the ingredient can never match the item
+	 */
+	public boolean accepts(int ingredient, IItemDefinition definition) {
+		Set<IItemDefinition> accepted = getFilters().accepted.get(ingredient);
+		return accepted == null || accepted.contains(definition);
+	}
+
+	private Filters getFilters() {
+		Filters current = filters;
+		int currentGeneration = generation.get();
+		if (current == null || current.generation != currentGeneration) {
+			current = new Filters(currentGeneration, ingredients);
+			filters = current;
+		}
+		return current;
+	}
+
+	private static class Filters {
+		private final int generation;
+		private final List<Set<IItemDefinition>> accepted;
+
+		public Filters(int generation, IIngredient[] ingredients) {
+			this.generation = generation;
+
+			accepted = new ArrayList<Set<IItemDefinition>>(ingredients.length);
+			for (IIngredient ingredient : ingredients) {
+				accepted.add(ingredient == null ? null : getDefinitions(ingredient));
+			}
+		}
+
+		private static Set<IItemDefinition> getDefinitions(IIngredient ingredient) {
+			List<IItemStack> items = ingredient.getItems();
+			if (items == null || items.isEmpty()) {
+				return null;
+			}
+
+			Set<IItemDefinition> result = new HashSet<IItemDefinition>();
+			for (IItemStack item : items) {
+				IItemDefinition definition = item.getDefinition();
+				if (definition == null) {
+					return null;
+				}
+
+				result.add(definition);
+			}
+
+			return result;
+		}
+	}
+}
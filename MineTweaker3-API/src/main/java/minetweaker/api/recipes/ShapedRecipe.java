@@ -9,6 +9,7 @@ package minetweaker.api.recipes;
 import java.util.HashMap;
 import java.util.Map;
 import minetweaker.api.item.IIngredient;
+import minetweaker.api.item.IItemDefinition;
 import minetweaker.api.item.IItemStack;
 import minetweaker.api.player.IPlayer;
 
@@ -26,6 +27,7 @@ public class ShapedRecipe implements ICraftingRecipe {
 
 	private final IItemStack output;
 	private final IIngredient[] ingredients;
+	private final IngredientPrefilter prefilter;
 
 	public ShapedRecipe(IItemStack output, IIngredient[][] ingredients, IRecipeFunction function, boolean mirrored) {
 		int numIngredients = 0;
@@ -64,6 +66,7 @@ public class ShapedRecipe implements ICraftingRecipe {
 		this.width = width1;
 		this.height = height1;
 		this.mirrored = mirrored;
+		this.prefilter = new IngredientPrefilter(this.ingredients);
 	}
 
 	public int getWidth() {
@@ -100,34 +103,21 @@ public class ShapedRecipe implements ICraftingRecipe {
 			return false;
 		}
 
+		IItemDefinition[] definitions = new IItemDefinition[inventory.getSize()];
 		for (int i = 0; i <= inventory.getWidth() - width; i++) {
-			out: for (int j = 0; j <= inventory.getHeight() - height; j++) {
-				for (int k = 0; k < ingredients.length; k++) {
-					IItemStack item = inventory.getStack(posx[k] + i, posy[k] + j);
-					if (item == null)
-						continue out;
-
-					if (!ingredients[k].matches(item))
-						continue out;
+			for (int j = 0; j <= inventory.getHeight() - height; j++) {
+				if (matchesAt(inventory, definitions, i, j, false, null)) {
+					return true;
 				}
-
-				return true;
 			}
 		}
 
 		if (mirrored) {
 			for (int i = 0; i <= inventory.getWidth() - width; i++) {
-				out: for (int j = 0; j <= inventory.getHeight() - height; j++) {
-					for (int k = 0; k < ingredients.length; k++) {
-						IItemStack item = inventory.getStack(inventory.getWidth() - (posx[k] + i) - 1, posy[k] + j);
-						if (item == null)
-							continue out;
-
-						if (!ingredients[k].matches(item))
-							continue out;
+				for (int j = 0; j <= inventory.getHeight() - height; j++) {
+					if (matchesAt(inventory, definitions, i, j, true, null)) {
+						return true;
 					}
-
-					return true;
 				}
 			}
 		}
@@ -138,37 +128,22 @@ public class ShapedRecipe implements ICraftingRecipe {
 	@Override
 	public IItemStack getCraftingResult(ICraftingInventory inventory) {
 		IItemStack[] stacks = new IItemStack[ingredients.length];
+		IItemDefinition[] definitions = new IItemDefinition[inventory.getSize()];
 
 		for (int i = 0; i <= inventory.getWidth() - width; i++) {
-			out: for (int j = 0; j <= inventory.getHeight() - height; j++) {
-				for (int k = 0; k < ingredients.length; k++) {
-					IItemStack item = inventory.getStack(posx[k] + i, posy[k] + j);
-					if (item == null)
-						continue out;
-
-					if (!ingredients[k].matches(item))
-						continue out;
-					stacks[k] = item;
+			for (int j = 0; j <= inventory.getHeight() - height; j++) {
+				if (matchesAt(inventory, definitions, i, j, false, stacks)) {
+					return doRecipe(inventory, stacks, i, j, output, false);
 				}
-
-				return doRecipe(inventory, stacks, i, j, output, false);
 			}
 		}
 
 		if (mirrored) {
 			for (int i = 0; i <= inventory.getWidth() - width; i++) {
-				out: for (int j = 0; j <= inventory.getHeight() - height; j++) {
-					for (int k = 0; k < ingredients.length; k++) {
-						IItemStack item = inventory.getStack(inventory.getWidth() - (posx[k] + i) - 1, posy[k] + j);
-						if (item == null)
-							continue out;
-
-						if (!ingredients[k].matches(item))
-							continue out;
-						stacks[k] = item;
+				for (int j = 0; j <= inventory.getHeight() - height; j++) {
+					if (matchesAt(inventory, definitions, i, j, true, stacks)) {
+						return doRecipe(inventory, stacks, i, j, output, true);
 					}
-
-					return doRecipe(inventory, stacks, i, j, output, true);
 				}
 			}
 		}
@@ -190,39 +165,24 @@ public class ShapedRecipe implements ICraftingRecipe {
 	@Override
 	public void applyTransformers(ICraftingInventory inventory, IPlayer byPlayer) {
 		IItemStack[] stacks = new IItemStack[ingredients.length];
+		IItemDefinition[] definitions = new IItemDefinition[inventory.getSize()];
 
 		for (int i = 0; i <= inventory.getWidth() - width; i++) {
-			out: for (int j = 0; j <= inventory.getHeight() - height; j++) {
-				for (int k = 0; k < ingredients.length; k++) {
-					IItemStack item = inventory.getStack(posx[k] + i, posy[k] + j);
-					if (item == null)
-						continue out;
-
-					if (!ingredients[k].matches(item))
-						continue out;
-					stacks[k] = item;
+			for (int j = 0; j <= inventory.getHeight() - height; j++) {
+				if (matchesAt(inventory, definitions, i, j, false, stacks)) {
+					doRecipeTransformers(inventory, stacks, i, j, false, byPlayer);
+					return;
 				}
-
-				doRecipeTransformers(inventory, stacks, i, j, false, byPlayer);
-				return;
 			}
 		}
 
 		if (mirrored) {
 			for (int i = 0; i <= inventory.getWidth() - width; i++) {
-				out: for (int j = 0; j <= inventory.getHeight() - height; j++) {
-					for (int k = 0; k < ingredients.length; k++) {
-						IItemStack item = inventory.getStack(inventory.getWidth() - (posx[k] + i) - 1, posy[k] + j);
-						if (item == null)
-							continue out;
-
-						if (!ingredients[k].matches(item))
-							continue out;
-						stacks[k] = item;
+				for (int j = 0; j <= inventory.getHeight() - height; j++) {
+					if (matchesAt(inventory, definitions, i, j, true, stacks)) {
+						doRecipeTransformers(inventory, stacks, i, j, true, byPlayer);
+						return;
 					}
-
-					doRecipeTransformers(inventory, stacks, i, j, true, byPlayer);
-					return;
 				}
 			}
 		}
@@ -261,6 +221,54 @@ public class ShapedRecipe implements ICraftingRecipe {
 		return result.toString();
 	}
 
+	/**
+	 * Checks if this recipe matches the inventory at the given offset. All
+	 * stacks are first checked against the item prefilter, so that the (more
+	 * expensive) ingredient matching is only done if all items could match.
+	 * 
+	 * @param inventory crafting inventory
+	 * @param definitions item definition per inventory slot, filled lazily
+	 * @param offx x offset
+	 * @param offy y offset
+	 * @param mirrored true to match mirrored
+	 * @param stacks matched stacks output, or null
+	 * @return true if the recipe matches at the given offset
+	 */
+	private boolean matchesAt(
+			ICraftingInventory inventory,
+			IItemDefinition[] definitions,
+			int offx, int offy,
+			boolean mirrored,
+			IItemStack[] stacks) {
+		for (int k = 0; k < ingredients.length; k++) {
+			int x = mirrored ? inventory.getWidth() - (posx[k] + offx) - 1 : posx[k] + offx;
+			int y = posy[k] + offy;
+			IItemStack item = inventory.getStack(x, y);
+			if (item == null)
+				return false;
+
+			if (prefilter.isFiltered(k)) {
+				int index = y * inventory.getWidth() + x;
+				if (definitions[index] == null)
+					definitions[index] = item.getDefinition();
+				if (!prefilter.accepts(k, definitions[index]))
+					return false;
+			}
+		}
+
+		for (int k = 0; k < ingredients.length; k++) {
+			int x = mirrored ? inventory.getWidth() - (posx[k] + offx) - 1 : posx[k] + offx;
+			IItemStack item = inventory.getStack(x, posy[k] + offy);
+			if (!ingredients[k].matches(item))
+				return false;
+
+			if (stacks != null)
+				stacks[k] = item;
+		}
+
+		return true;
+	}
+
 	private IItemStack doRecipe(
 			ICraftingInventory inventory,
 			IItemStack[] stacks,
@@ -9,6 +9,7 @@ package minetweaker.api.recipes;
 import java.util.HashMap;
 import java.util.Map;
 import minetweaker.api.item.IIngredient;
+import minetweaker.api.item.IItemDefinition;
 import minetweaker.api.item.IItemStack;
 import minetweaker.api.player.IPlayer;
 
@@ -20,11 +21,13 @@ public class ShapelessRecipe implements ICraftingRecipe {
 	private final IItemStack output;
 	private final IRecipeFunction function;
 	private final IIngredient[] ingredients;
+	private final IngredientPrefilter prefilter;
 
 	public ShapelessRecipe(IItemStack output, IIngredient[] ingredients, IRecipeFunction function) {
 		this.output = output;
 		this.function = function;
 		this.ingredients = ingredients;
+		this.prefilter = new IngredientPrefilter(ingredients);
 	}
 
 	public int getSize() {
@@ -41,12 +44,12 @@ public class ShapelessRecipe implements ICraftingRecipe {
 
 	@Override
 	public boolean matches(ICraftingInventory inventory) {
-		return matchShapeless(ingredients, inventory) != null;
+		return matchShapeless(ingredients, prefilter, inventory) != null;
 	}
 
 	@Override
 	public IItemStack getCraftingResult(ICraftingInventory inventory) {
-		RecipeMatching matching = matchShapeless(ingredients, inventory);
+		RecipeMatching matching = matchShapeless(ingredients, prefilter, inventory);
 
 		IItemStack actualOutput = output;
 		if (function != null) {
@@ -69,7 +72,7 @@ public class ShapelessRecipe implements ICraftingRecipe {
 
 	@Override
 	public void applyTransformers(ICraftingInventory inventory, IPlayer byPlayer) {
-		RecipeMatching matching = matchShapeless(ingredients, inventory);
+		RecipeMatching matching = matchShapeless(ingredients, prefilter, inventory);
 
 		for (int i = 0; i < ingredients.length; i++) {
 			IIngredient ingredient = ingredients[i];
@@ -104,11 +107,13 @@ public class ShapelessRecipe implements ICraftingRecipe {
 	 * Reorders ingredients to match the given shapeless recipe.
 	 * 
 	 * @param recipe shapeless recipe
+	 * @param prefilter item prefilter for the recipe
 	 * @param ingredients crafting input
 	 * @return reordered inputs, or null if no match was found
 	 */
 	private static RecipeMatching matchShapeless(
 			IIngredient[] recipe,
+			IngredientPrefilter prefilter,
 			ICraftingInventory ingredients) {
 		int numItems = 0;
 		for (int i = 0; i < ingredients.getSize(); i++) {
@@ -129,10 +134,18 @@ public class ShapelessRecipe implements ICraftingRecipe {
 			if (ingredient == null)
 				continue;
 
+			IItemDefinition definition = null;
 			for (int j = 0; j < recipe.length; j++) {
 				if (matched[j] != null)
 					continue;
 
+				if (prefilter.isFiltered(j)) {
+					if (definition == null)
+						definition = ingredient.getDefinition();
+					if (!prefilter.accepts(j, definition))
+						continue;
+				}
+
 				if (recipe[j].matches(ingredient)) {
 					matched[j] = ingredient;
 					indices[j] = i;
@@ -11,6 +11,7 @@ import minetweaker.IUndoableAction;
 import minetweaker.MineTweakerAPI;
 import minetweaker.api.formatting.IFormattedText;
 import minetweaker.api.item.IIngredient;
+import minetweaker.api.item.IItemDefinition;
 import minetweaker.api.item.IItemStack;
 import minetweaker.api.util.IngredientMap;
 import minetweaker.api.util.IngredientMap.IngredientMapEntry;
@@ -36,6 +37,10 @@ public class IngredientTooltips {
 		MineTweakerAPI.apply(new AddTooltipAction(ingredient, tooltip, true));
 	}
 
+	public static boolean hasTooltips(IItemDefinition item) {
+		return TOOLTIPS.hasEntries(item) || SHIFT_TOOLTIPS.hasEntries(item);
+	}
+
 	public static List<IFormattedText> getTooltips(IItemStack item) {
 		return TOOLTIPS.getEntries(item);
 	}
@@ -10,24 +10,48 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import minetweaker.api.data.DataMap;
+import minetweaker.api.data.IData;
 import minetweaker.api.item.IIngredient;
 import minetweaker.api.item.IItemDefinition;
 import minetweaker.api.item.IItemStack;
+import minetweaker.api.recipes.IngredientPrefilter;
 
 /**
+ * Maps ingredients to values, indexed by item definition.
+ *
+ * Lookup results are cached per item stack (item, damage, amount and tag, as
+ * compared by the stack's equals method), since the same stacks tend to be
+ * looked up over and over again (such as tooltips, every frame). The cache is
+ * cleared whenever the map or the contents of ingredients change. Returned
+ * lists are shared and cannot be modified.
  *
  * @author Stan
  */
 public class IngredientMap<T> {
+	private static final int MAX_CACHED = 256;
+
 	private final HashMap<IItemDefinition, List<IngredientMapEntry<T>>> entries;
+	private final Map<IItemStack, List<T>> cache;
+	private int cacheGeneration = -1;
 
 	public IngredientMap() {
 		entries = new HashMap<IItemDefinition, List<IngredientMapEntry<T>>>();
+		cache = new LinkedHashMap<IItemStack, List<T>>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<IItemStack, List<T>> eldest) {
+				return size() > MAX_CACHED;
+			}
+		};
 	}
 
-	public IngredientMapEntry<T> register(IIngredient ingredient, T entry) {
+	public synchronized IngredientMapEntry<T> register(IIngredient ingredient, T entry) {
+		cache.clear();
+
 		Set<IItemDefinition> items = new HashSet<IItemDefinition>();
 		for (IItemStack item : ingredient.getItems()) {
 			items.add(item.getDefinition());
@@ -46,7 +70,9 @@ public class IngredientMap<T> {
 		return actualEntry;
 	}
 
-	public void unregister(IngredientMapEntry<T> entry) {
+	public synchronized void unregister(IngredientMapEntry<T> entry) {
+		cache.clear();
+
 		Set<IItemDefinition> items = new HashSet<IItemDefinition>();
 		for (IItemStack item : entry.ingredient.getItems()) {
 			items.add(item.getDefinition());
@@ -59,28 +85,71 @@ public class IngredientMap<T> {
 		}
 	}
 
-	public T getFirstEntry(IItemStack item) {
-		for (IngredientMapEntry<T> entry : entries.get(item.getDefinition())) {
-			if (entry.ingredient.matches(item)) {
-				return entry.entry;
-			}
-		}
+	/**
+	 * Checks if there are any entries registered for the given item. Allows
+	 * callers to skip wrapping stacks of items which have no entries at all.
+	 *
+	 * @param item item definition
+	 * @return true if there might be matching entries
+	 */
+	public synchronized boolean hasEntries(IItemDefinition item) {
+		List<IngredientMapEntry<T>> itemEntries = entries.get(item);
+		return itemEntries != null && !itemEntries.isEmpty();
+	}
 
-		return null;
+	public synchronized T getFirstEntry(IItemStack item) {
+		List<T> results = getEntries(item);
+		return results.isEmpty() ? null : results.get(0);
 	}
 
-	public List<T> getEntries(IItemStack item) {
-		List<IngredientMapEntry<T>> entries = this.entries.get(item.getDefinition());
-		if (entries != null) {
-			ArrayList<T> results = new ArrayList<T>();
-			for (IngredientMapEntry<T> entry : entries) {
+	/**
+	 * Retrieves the values of all entries matching the given stack. The stack
+	 * may be a temporary (non-copying) stack; it is not kept.
+	 *
+	 * @param item item stack
+	 * @return matching values (shared, unmodifiable)
+	 */
+	public synchronized List<T> getEntries(IItemStack item) {
+		List<IngredientMapEntry<T>> itemEntries = this.entries.get(item.getDefinition());
+		if (itemEntries == null || itemEntries.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		int generation = IngredientPrefilter.getGeneration();
+		if (cacheGeneration != generation) {
+			cache.clear();
+			cacheGeneration = generation;
+		}
+
+		List<T> results = cache.get(item);
+		if (results == null) {
+			ArrayList<T> matching = new ArrayList<T>();
+			for (IngredientMapEntry<T> entry : itemEntries) {
 				if (entry.ingredient.matches(item)) {
-					results.add(entry.entry);
+					matching.add(entry.entry);
 				}
 			}
-			return results;
+
+			results = matching.isEmpty() ? Collections.<T>emptyList() : Collections.unmodifiableList(matching);
+
+			cache.put(makeKey(item), results);
+		}
+
+		return results;
+	}
+
+	/**
+	 * Copies the given stack for use as cache key. withAmount shares the tag
+	 * compound of the original stack, so the tag is rebuilt from a snapshot;
+	 * otherwise changes to the original tag would change the key's hash code.
+	 */
+	private static IItemStack makeKey(IItemStack item) {
+		IData tag = item.getTag();
+		if (tag == DataMap.EMPTY) {
+			// no tag
+			return item.withAmount(item.getAmount());
 		} else {
-			return Collections.EMPTY_LIST;
+			return item.withTag(tag);
 		}
 	}
 
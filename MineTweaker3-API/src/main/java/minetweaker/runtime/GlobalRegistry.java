@@ -7,17 +7,24 @@
 package minetweaker.runtime;
 
 import java.lang.annotation.Annotation;
+import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import minetweaker.IBracketHandler;
 import minetweaker.IRecipeRemover;
+import minetweaker.IStatefulBracketHandler;
 import minetweaker.MineTweakerAPI;
 import minetweaker.api.item.IIngredient;
 import stanhebben.zenscript.IZenErrorLogger;
@@ -53,6 +60,11 @@ public class GlobalRegistry {
 	private static final IZenErrorLogger errors = new MyErrorLogger();
 	private static final IZenCompileEnvironment environment = new MyCompileEnvironment();
 	private static final Map<String, TypeExpansion> expansions = new HashMap<String, TypeExpansion>();
+	private static final List<Class<?>> registeredClasses = new ArrayList<Class<?>>();
+	private static final AtomicInteger errorCount = new AtomicInteger();
+	private static int revision = 0;
+	private static byte[] classesFingerprint = null;
+	private static int classesFingerprintRevision = -1;
 
 	static {
 		registerGlobal("print", getStaticFunction(GlobalFunctions.class, "print", String.class));
@@ -69,6 +81,7 @@ public class GlobalRegistry {
 		}
 
 		globals.put(name, symbol);
+		revision++;
 	}
 
 	public static void registerExpansion(Class<?> cls) {
@@ -82,6 +95,8 @@ public class GlobalRegistry {
 					expansions.get(eAnnotation.value()).expand(cls, types);
 				}
 			}
+			registeredClasses.add(cls);
+			revision++;
 		} catch (Throwable ex) {
 			ex.printStackTrace();
 		}
@@ -93,6 +108,7 @@ public class GlobalRegistry {
 
 	public static void registerBracketHandler(IBracketHandler handler) {
 		bracketHandlers.add(handler);
+		revision++;
 	}
 
 	public static void registerNativeClass(Class<?> cls) {
@@ -101,11 +117,88 @@ public class GlobalRegistry {
 			type.complete(types);
 
 			root.put(type.getName(), new SymbolType(type), errors);
+			registeredClasses.add(cls);
+			revision++;
 		} catch (Throwable ex) {
 			ex.printStackTrace();
 		}
 	}
 
+	/**
+	 * Retrieves the registry revision. The revision changes whenever a global
+	 * symbol, expansion, bracket handler or native class is registered, and
+	 * thus whenever previously compiled scripts could compile differently.
+	 *
+	 * @return registry revision
+	 */
+	public static int getRevision() {
+		return revision;
+	}
+
+	/**
+	 * Calculates a fingerprint of everything that affects script compilation:
+	 * global symbols, the members of registered classes and expansions, and
+	 * bracket handlers including the state they depend on. Scripts compiled
+	 * with the same fingerprint compile to the same classes.
+	 * 
+	 * @return registry fingerprint
+	 */
+	public static byte[] getFingerprint() {
+		if (classesFingerprint == null || classesFingerprintRevision != revision) {
+			MessageDigest digest = createDigest();
+
+			List<String> globalNames = new ArrayList<String>(globals.keySet());
+			Collections.sort(globalNames);
+			for (String name : globalNames) {
+				update(digest, name);
+				update(digest, globals.get(name).getClass().getName());
+			}
+
+			for (Class<?> cls : registeredClasses) {
+				update(digest, cls.getName());
+
+				List<String> members = new ArrayList<String>();
+				for (Method method : cls.getMethods()) {
+					members.add(method.toString());
+				}
+				for (Field field : cls.getFields()) {
+					members.add(field.toString());
+				}
+				Collections.sort(members);
+
+				for (String member : members) {
+					update(digest, member);
+				}
+			}
+
+			classesFingerprint = digest.digest();
+			classesFingerprintRevision = revision;
+		}
+
+		// bracket handler state may change without the revision changing
+		MessageDigest digest = createDigest();
+		digest.update(classesFingerprint);
+		for (IBracketHandler handler : bracketHandlers) {
+			update(digest, handler.getClass().getName());
+
+			if (handler instanceof IStatefulBracketHandler) {
+				((IStatefulBracketHandler) handler).updateFingerprint(digest);
+			}
+		}
+
+		return digest.digest();
+	}
+
+	/**
+	 * Retrieves the number of compilation errors reported so far. Can be used
+	 * to check if a compilation was successful.
+	 * 
+	 * @return error count
+	 */
+	public static int getErrorCount() {
+		return errorCount.get();
+	}
+
 	public static TypeRegistry getTypeRegistry() {
 		return types;
 	}
@@ -151,9 +244,27 @@ public class GlobalRegistry {
 		return new MyGlobalEnvironment(classes);
 	}
 
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-1");
+		} catch (NoSuchAlgorithmException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		try {
+			digest.update(value.getBytes("UTF-8"));
+			digest.update((byte) 0);
+		} catch (UnsupportedEncodingException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
 	private static class MyErrorLogger implements IZenErrorLogger {
 		@Override
 		public void error(ZenPosition position, String message) {
+			errorCount.incrementAndGet();
 			if (position == null) {
 				MineTweakerAPI.logError("system: " + message);
 			} else {
@@ -275,6 +386,7 @@ public class GlobalRegistry {
 
 		@Override
 		public void error(ZenPosition position, String message) {
+			errorCount.incrementAndGet();
 			MineTweakerAPI.logError(position.toString() + " > " + message);
 		}
 
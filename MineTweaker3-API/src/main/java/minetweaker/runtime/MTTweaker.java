@@ -6,11 +6,16 @@
 
 package minetweaker.runtime;
 
-import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -18,32 +23,68 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import minetweaker.IUndoableAction;
 import minetweaker.MineTweakerAPI;
+import minetweaker.MineTweakerImplementationAPI;
+import minetweaker.api.event.IEventHandle;
 import minetweaker.api.item.IIngredient;
+import minetweaker.api.logger.LogLevel;
+import minetweaker.api.logger.MTLogger.CapturedMessage;
 import minetweaker.runtime.providers.ScriptProviderMemory;
+import minetweaker.util.FileUtil;
 import stanhebben.zenscript.ZenModule;
 import static stanhebben.zenscript.ZenModule.compileScripts;
 import static stanhebben.zenscript.ZenModule.extractClassName;
 import stanhebben.zenscript.ZenParsedFile;
 import stanhebben.zenscript.ZenTokener;
 import stanhebben.zenscript.compiler.IEnvironmentGlobal;
+import stanhebben.zenscript.interpreter.ScriptBody;
 import stanhebben.zenscript.parser.ParseException;
 
 /**
+ * Default tweaker implementation. Loads scripts per group and keeps track of
+ * the actions and event handlers each group has registered.
  * 
+ * Reloads are incremental: groups are kept, in load order, up to the first
+ * group whose contents have changed. Only that group and the groups loaded
+ * after it are rolled back and executed again, and of those, only the changed
+ * ones are recompiled. Actions applied outside of script groups are always
+ * rolled back. Scripts in different groups cannot access each other's
+ * functions, so a changed group never requires recompilation of another. If
+ * the global registry has changed, everything is reloaded.
+ * 
+ * Compiled groups are also cached on disk, so unchanged scripts don't need to
+ * be compiled again after a restart.
+ * 
+ * With -Dminetweaker.interpret=true, the top-level statements of each script
+ * are interpreted instead of compiled (see ZenModule.compileScripts). Groups
+ * compiled this way are not stored in the disk cache.
  * 
  * @author Stan Hebben
  */
 public class MTTweaker implements ITweaker {
 	private static final boolean DEBUG = false;
+	private static final boolean INTERPRET = Boolean.getBoolean("minetweaker.interpret");
+	private static final File CACHE_DIRECTORY = new File("cache", "minetweaker");
+
+	private static ExecutorService parserExecutor = null;
 
 	private final List<IUndoableAction> actions = new ArrayList<IUndoableAction>();
 	private final Set<IUndoableAction> wereStuck = new LinkedHashSet<IUndoableAction>();
 	private final Map<Object, IUndoableAction> stuckOverridable = new HashMap<Object, IUndoableAction>();
 
+	private final List<LoadedGroup> loaded = new ArrayList<LoadedGroup>();
+	private final ScriptCache cache = new ScriptCache(CACHE_DIRECTORY);
+	private int loadedRevision = -1;
+
 	private IScriptProvider scriptProvider;
 	private byte[] scriptData;
+	private List<StagedGroup> staged = null;
+	private int retained = 0;
 
 	@Override
 	public byte[] getStagedScriptData() {
@@ -52,7 +93,9 @@ public class MTTweaker implements ITweaker {
 
 	@Override
 	public void apply(IUndoableAction action) {
-		MineTweakerAPI.logInfo(action.describe());
+		if (MineTweakerImplementationAPI.logger.isLogging(LogLevel.INFO)) {
+			MineTweakerAPI.logInfo(action.describe());
+		}
 
 		Object overrideKey = action.getOverrideKey();
 		if (wereStuck.contains(action)) {
@@ -80,14 +123,41 @@ public class MTTweaker implements ITweaker {
 
 	@Override
 	public List<IUndoableAction> rollback() {
+		staged = stage();
+		retained = 0;
+		if (loadedRevision == GlobalRegistry.getRevision()) {
+			while (retained < loaded.size() && retained < staged.size()
+					&& loaded.get(retained).isUnchanged(staged.get(retained))) {
+				retained++;
+			}
+		}
+
+		// actions of retained groups stay applied. Everything else is undone,
+		// including actions applied outside of script groups (such as command
+		// registrations and reload handlers), which are applied again on load.
+		boolean[] keep = new boolean[actions.size()];
+		for (int i = 0; i < retained; i++) {
+			LoadedGroup group = loaded.get(i);
+			Arrays.fill(keep, group.firstAction, group.endAction, true);
+		}
+
 		List<IUndoableAction> stuck = new ArrayList<IUndoableAction>();
 		for (int i = actions.size() - 1; i >= 0; i--) {
+			if (keep[i]) {
+				continue;
+			}
+
 			IUndoableAction action = actions.get(i);
+			boolean logging = MineTweakerImplementationAPI.logger.isLogging(LogLevel.INFO);
 			if (action.canUndo()) {
-				MineTweakerAPI.logInfo(action.describeUndo());
+				if (logging) {
+					MineTweakerAPI.logInfo(action.describeUndo());
+				}
 				action.undo();
 			} else {
-				MineTweakerAPI.logInfo("[Stuck] " + action.describe());
+				if (logging) {
+					MineTweakerAPI.logInfo("[Stuck] " + action.describe());
+				}
 				stuck.add(0, action);
 				wereStuck.add(action);
 
@@ -97,7 +167,24 @@ public class MTTweaker implements ITweaker {
 				}
 			}
 		}
+
+		List<IUndoableAction> kept = new ArrayList<IUndoableAction>();
+		for (int i = 0; i < retained; i++) {
+			LoadedGroup group = loaded.get(i);
+			int firstAction = kept.size();
+			kept.addAll(actions.subList(group.firstAction, group.endAction));
+			group.firstAction = firstAction;
+			group.endAction = kept.size();
+		}
 		actions.clear();
+		actions.addAll(kept);
+
+		for (int i = loaded.size() - 1; i >= retained; i--) {
+			for (IEventHandle handle : loaded.get(i).eventHandles) {
+				handle.close();
+			}
+		}
+
 		return stuck;
 	}
 
@@ -111,62 +198,74 @@ public class MTTweaker implements ITweaker {
 		System.out.println("Loading scripts");
 
 		scriptData = ScriptProviderMemory.collect(scriptProvider);
-		Set<String> executed = new HashSet<String>();
-
-		Iterator<IScriptIterator> scripts = scriptProvider.getScripts();
-		while (scripts.hasNext()) {
-			IScriptIterator script = scripts.next();
-
-			if (!executed.contains(script.getGroupName())) {
-				executed.add(script.getGroupName());
-
-				Map<String, byte[]> classes = new HashMap<String, byte[]>();
-				IEnvironmentGlobal environmentGlobal = GlobalRegistry.makeGlobalEnvironment(classes);
+		if (staged == null) {
+			staged = stage();
+			retained = 0;
+		}
 
-				List<ZenParsedFile> files = new ArrayList<ZenParsedFile>();
+		// compiled classes can be reused if neither the scripts nor the registry have changed
+		Map<String, LoadedGroup> previous = new HashMap<String, LoadedGroup>();
+		if (loadedRevision == GlobalRegistry.getRevision()) {
+			for (LoadedGroup group : loaded.subList(retained, loaded.size())) {
+				previous.put(group.name, group);
+			}
+		}
+		loaded.subList(retained, loaded.size()).clear();
+		loadedRevision = GlobalRegistry.getRevision();
 
-				while (script.next()) {
-					Reader reader = null;
-					try {
-						reader = new InputStreamReader(new BufferedInputStream(script.open()), "UTF-8");
+		for (int i = 0; i < retained; i++) {
+			System.out.println("MineTweaker: Unchanged " + loaded.get(i).name);
+		}
 
-						String filename = script.getName();
-						String className = extractClassName(filename);
+		byte[] fingerprint = null;
 
-						ZenTokener parser = new ZenTokener(reader, environmentGlobal.getEnvironment());
-						ZenParsedFile pfile = new ZenParsedFile(filename, className, parser, environmentGlobal);
-						files.add(pfile);
-					} catch (IOException ex) {
-						MineTweakerAPI.logError("Could not load script " + script.getName() + ": " + ex.getMessage());
-					} catch (ParseException ex) {
-						// ex.printStackTrace();
-						MineTweakerAPI.logError("Error parsing " + ex.getFile().getFileName() + ":" + ex.getLine() + " -- " + ex.getExplanation());
-					} catch (Exception ex) {
-						MineTweakerAPI.logError("Error loading " + script.getName() + ": " + ex.toString(), ex);
-					}
+		for (int i = retained; i < staged.size(); i++) {
+			StagedGroup group = staged.get(i);
+			LoadedGroup result = new LoadedGroup(group.name, group.hash, actions.size());
 
-					if (reader != null) {
-						try {
-							reader.close();
-						} catch (IOException ex) {
-						}
-					}
+			long compileStart = System.nanoTime();
+			LoadedGroup cached = previous.get(group.name);
+			if (cached != null && cached.isUnchanged(group) && cached.classes != null) {
+				System.out.println("MineTweaker: Running " + group.name);
+				result.classes = cached.classes;
+				result.bodies = cached.bodies;
+			} else {
+				if (fingerprint == null) {
+					fingerprint = GlobalRegistry.getFingerprint();
 				}
+				compile(group, fingerprint, result);
+			}
 
+			if (result.classes != null) {
+				// run time includes loading and verifying the generated classes
+				long runStart = System.nanoTime();
+				MineTweakerImplementationAPI.events.setRecorder(result.eventHandles);
 				try {
-					String filename = script.getGroupName();
-					System.out.println("MineTweaker: Loading " + filename);
-					compileScripts(filename, files, environmentGlobal, DEBUG);
-
 					// execute scripts
-					ZenModule module = new ZenModule(classes, MineTweakerAPI.class.getClassLoader());
+					ZenModule module = new ZenModule(result.classes, result.bodies, MineTweakerAPI.class.getClassLoader());
 					module.getMain().run();
 				} catch (Throwable ex) {
-					MineTweakerAPI.logError("Error executing " + script.getGroupName() + ": " + ex.getMessage(), ex);
+					MineTweakerAPI.logError("Error executing " + group.name + ": " + ex.getMessage(), ex);
+				} finally {
+					MineTweakerImplementationAPI.events.setRecorder(null);
 				}
+				long runEnd = System.nanoTime();
+
+				System.out.println("MineTweaker: Finished " + group.name
+						+ " (compiled in " + (runStart - compileStart) / 1000000
+						+ " ms, ran in " + (runEnd - runStart) / 1000000 + " ms)");
 			}
+
+			// changes collected while the group ran belong to the group
+			MineTweakerImplementationAPI.scriptGroupLoaded();
+			result.endAction = actions.size();
+
+			loaded.add(result);
 		}
 
+		staged = null;
+		retained = 0;
+
 		if (wereStuck.size() > 0) {
 			MineTweakerAPI.logWarning(Integer.toString(wereStuck.size()) + " modifications were stuck");
 			for (IUndoableAction action : wereStuck) {
@@ -179,4 +278,244 @@ public class MTTweaker implements ITweaker {
 	public byte[] getScriptData() {
 		return scriptData;
 	}
+
+	// #######################
+	// ### Private methods ###
+	// #######################
+
+	private List<StagedGroup> stage() {
+		List<StagedGroup> result = new ArrayList<StagedGroup>();
+		if (scriptProvider == null) {
+			return result;
+		}
+
+		Set<String> executed = new HashSet<String>();
+
+		Iterator<IScriptIterator> scripts = scriptProvider.getScripts();
+		while (scripts.hasNext()) {
+			IScriptIterator script = scripts.next();
+
+			if (!executed.contains(script.getGroupName())) {
+				executed.add(script.getGroupName());
+
+				StagedGroup group = new StagedGroup(script.getGroupName());
+				while (script.next()) {
+					try {
+						group.add(script.getName(), FileUtil.read(script.open()));
+					} catch (IOException ex) {
+						MineTweakerAPI.logError("Could not load script " + script.getName() + ": " + ex.getMessage());
+					}
+				}
+				group.finish();
+
+				result.add(group);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Compiles a script group, or loads it from the cache. Sets the classes
+	 * (null if compilation failed) and the script bodies of the given group.
+	 */
+	private void compile(StagedGroup group, byte[] fingerprint, LoadedGroup result) {
+		// cached groups are fully compiled and run as they are, even when interpreting
+		byte[] cacheKey = ScriptCache.makeKey(group.hash, fingerprint);
+		Map<String, byte[]> cached = cache.load(group.name, cacheKey);
+		if (cached != null) {
+			System.out.println("MineTweaker: Loading " + group.name + " (cached)");
+			result.classes = cached;
+			return;
+		}
+
+		int errorCount = GlobalRegistry.getErrorCount();
+		boolean failed = false;
+
+		Map<String, byte[]> classes = new HashMap<String, byte[]>();
+		IEnvironmentGlobal environmentGlobal = GlobalRegistry.makeGlobalEnvironment(classes);
+
+		// files are parsed in parallel, then compiled together in their original order
+		List<ParseTask> tasks = new ArrayList<ParseTask>();
+		for (int i = 0; i < group.fileNames.size(); i++) {
+			tasks.add(new ParseTask(group.fileNames.get(i), group.fileData.get(i), environmentGlobal));
+		}
+
+		if (tasks.size() > 1) {
+			try {
+				getParserExecutor().invokeAll(tasks);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				MineTweakerAPI.logError("Interrupted while parsing " + group.name);
+				return;
+			}
+		} else {
+			for (ParseTask task : tasks) {
+				task.call();
+			}
+		}
+
+		List<ZenParsedFile> files = new ArrayList<ZenParsedFile>();
+		for (ParseTask task : tasks) {
+			MineTweakerImplementationAPI.logger.replay(task.messages);
+
+			if (task.result == null) {
+				failed = true;
+			} else {
+				files.add(task.result);
+			}
+		}
+
+		try {
+			System.out.println("MineTweaker: Loading " + group.name);
+			List<ScriptBody> bodies = compileScripts(group.name, files, environmentGlobal, DEBUG, INTERPRET);
+
+			// don't cache scripts with errors, or the errors won't be reported next time.
+			// interpreted bodies only exist in memory, so those groups can't be cached either.
+			if (!INTERPRET && !failed && GlobalRegistry.getErrorCount() == errorCount) {
+				cache.store(group.name, cacheKey, classes);
+			}
+			result.classes = classes;
+			result.bodies = INTERPRET ? bodies : null;
+		} catch (Throwable ex) {
+			MineTweakerAPI.logError("Error executing " + group.name + ": " + ex.getMessage(), ex);
+		}
+	}
+
+	private static synchronized ExecutorService getParserExecutor() {
+		if (parserExecutor == null) {
+			parserExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+				private int counter = 0;
+
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "MineTweaker Parser " + (++counter));
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+
+		return parserExecutor;
+	}
+
+	// #######################
+	// ### Private classes ###
+	// #######################
+
+	/**
+	 * Parses a single script file. Messages logged while parsing are captured,
+	 * so they can be logged in file order afterwards.
+	 */
+	private static class ParseTask implements Callable<ZenParsedFile> {
+		private final String filename;
+		private final byte[] data;
+		private final IEnvironmentGlobal environmentGlobal;
+
+		private ZenParsedFile result = null;
+		private List<CapturedMessage> messages = Collections.emptyList();
+
+		public ParseTask(String filename, byte[] data, IEnvironmentGlobal environmentGlobal) {
+			this.filename = filename;
+			this.data = data;
+			this.environmentGlobal = environmentGlobal;
+		}
+
+		@Override
+		public ZenParsedFile call() {
+			MineTweakerImplementationAPI.logger.startCapture();
+
+			Reader reader = null;
+			try {
+				reader = new InputStreamReader(new ByteArrayInputStream(data), "UTF-8");
+
+				String className = extractClassName(filename);
+
+				ZenTokener parser = new ZenTokener(reader, environmentGlobal.getEnvironment());
+				result = new ZenParsedFile(filename, className, parser, environmentGlobal);
+			} catch (IOException ex) {
+				MineTweakerAPI.logError("Could not load script " + filename + ": " + ex.getMessage());
+			} catch (ParseException ex) {
+				// ex.printStackTrace();
+				MineTweakerAPI.logError("Error parsing " + ex.getFile().getFileName() + ":" + ex.getLine() + " -- " + ex.getExplanation());
+			} catch (Throwable ex) {
+				MineTweakerAPI.logError("Error loading " + filename + ": " + ex.toString(), ex);
+			} finally {
+				messages = MineTweakerImplementationAPI.logger.stopCapture();
+			}
+
+			if (reader != null) {
+				try {
+					reader.close();
+				} catch (IOException ex) {
+				}
+			}
+
+			return result;
+		}
+	}
+
+	/**
+	 * Script group as read from the script provider, before loading.
+	 */
+	private static class StagedGroup {
+		private final String name;
+		private final List<String> fileNames = new ArrayList<String>();
+		private final List<byte[]> fileData = new ArrayList<byte[]>();
+		private final MessageDigest digest;
+		private byte[] hash;
+
+		public StagedGroup(String name) {
+			this.name = name;
+
+			try {
+				digest = MessageDigest.getInstance("SHA-1");
+			} catch (NoSuchAlgorithmException ex) {
+				throw new RuntimeException(ex);
+			}
+		}
+
+		public void add(String fileName, byte[] data) {
+			fileNames.add(fileName);
+			fileData.add(data);
+
+			try {
+				digest.update(fileName.getBytes("UTF-8"));
+			} catch (IOException ex) {
+				throw new RuntimeException(ex);
+			}
+			digest.update((byte) 0);
+			digest.update(new byte[] { (byte) (data.length >> 24), (byte) (data.length >> 16), (byte) (data.length >> 8), (byte) data.length });
+			digest.update(data);
+		}
+
+		public void finish() {
+			hash = digest.digest();
+		}
+	}
+
+	/**
+	 * Script group which has been loaded, with the actions and event handlers
+	 * it registered.
+	 */
+	private static class LoadedGroup {
+		private final String name;
+		private final byte[] hash;
+		private int firstAction;
+		private int endAction;
+		private final List<IEventHandle> eventHandles = new ArrayList<IEventHandle>();
+		private Map<String, byte[]> classes;
+		private List<ScriptBody> bodies;
+
+		public LoadedGroup(String name, byte[] hash, int firstAction) {
+			this.name = name;
+			this.hash = hash;
+			this.firstAction = firstAction;
+			this.endAction = firstAction;
+		}
+
+		public boolean isUnchanged(StagedGroup group) {
+			return name.equals(group.name) && Arrays.equals(hash, group.hash);
+		}
+	}
 }
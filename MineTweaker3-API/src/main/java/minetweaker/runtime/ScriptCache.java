@@ -0,0 +1,264 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+
+package minetweaker.runtime;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URISyntaxException;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import stanhebben.zenscript.ZenModule;
+
+/**
+ * On-disk cache of compiled script groups. Each group is stored in its own
+ * file, together with the key it was compiled for. The key must identify both
+ * the script contents and the compilation environment (see
+ * GlobalRegistry.getFingerprint()); an entry is only returned if its key
+ * matches. Keys also include a hash of the ZenScript and MineTweaker code, so
+ * entries compiled by a different build are never loaded.
+ *
+ * @author Stan Hebben
+ */
+public class ScriptCache {
+	private static final int FORMAT_VERSION = 2;
+	private static final int MAX_KEY_SIZE = 1024;
+	private static final int MAX_CLASS_SIZE = 16 * 1024 * 1024;
+
+	private static boolean codeHashed = false;
+	private static byte[] codeHash = null;
+
+	private final File directory;
+
+	public ScriptCache(File directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Calculates the cache key for a script group.
+	 *
+	 * @param scriptHash hash of the script group contents
+	 * @param fingerprint global registry fingerprint
+	 * @return cache key, or null if the code version cannot be determined
+	 */
+	public static byte[] makeKey(byte[] scriptHash, byte[] fingerprint) {
+		byte[] code = getCodeHash();
+		if (code == null) {
+			return null;
+		}
+
+		MessageDigest digest = createDigest();
+		digest.update(code);
+		digest.update(scriptHash);
+		digest.update(fingerprint);
+		return digest.digest();
+	}
+
+	/**
+	 * Loads the classes of a script group from the cache.
+	 *
+	 * @param group group name
+	 * @param key cache key
+	 * @return compiled classes, or null if not cached
+	 */
+	public Map<String, byte[]> load(String group, byte[] key) {
+		if (key == null) {
+			return null;
+		}
+
+		File file = getFile(group);
+		if (!file.exists()) {
+			return null;
+		}
+
+		try {
+			DataInputStream input = new DataInputStream(new InflaterInputStream(new BufferedInputStream(new FileInputStream(file))));
+			try {
+				if (input.readInt() != FORMAT_VERSION) {
+					return null;
+				}
+
+				byte[] storedKey = new byte[readLength(input, MAX_KEY_SIZE)];
+				input.readFully(storedKey);
+				if (!Arrays.equals(key, storedKey)) {
+					return null;
+				}
+
+				Map<String, byte[]> classes = new HashMap<String, byte[]>();
+				int numClasses = readLength(input, Integer.MAX_VALUE);
+				for (int i = 0; i < numClasses; i++) {
+					String name = input.readUTF();
+					byte[] data = new byte[readLength(input, MAX_CLASS_SIZE)];
+					input.readFully(data);
+					classes.put(name, data);
+				}
+
+				return classes;
+			} finally {
+				input.close();
+			}
+		} catch (IOException ex) {
+			return null;
+		} catch (RuntimeException ex) {
+			// corrupted entry, treat as a miss
+			return null;
+		}
+	}
+
+	/**
+	 * Stores the classes of a script group. Replaces the previously stored
+	 * classes for the same group, if any.
+	 *
+	 * @param group group name
+	 * @param key cache key
+	 * @param classes compiled classes
+	 */
+	public void store(String group, byte[] key, Map<String, byte[]> classes) {
+		if (key == null) {
+			return;
+		}
+		if (!directory.exists() && !directory.mkdirs()) {
+			return;
+		}
+
+		File file = getFile(group);
+		try {
+			DataOutputStream output = new DataOutputStream(new DeflaterOutputStream(new BufferedOutputStream(new FileOutputStream(file))));
+			try {
+				output.writeInt(FORMAT_VERSION);
+				output.writeInt(key.length);
+				output.write(key);
+
+				output.writeInt(classes.size());
+				for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+					output.writeUTF(entry.getKey());
+					output.writeInt(entry.getValue().length);
+					output.write(entry.getValue());
+				}
+			} finally {
+				output.close();
+			}
+		} catch (IOException ex) {
+			// a broken entry won't match on load
+			file.delete();
+		}
+	}
+
+	// #######################
+	// ### Private methods ###
+	// #######################
+
+	private static int readLength(DataInputStream input, int max) throws IOException {
+		int length = input.readInt();
+		if (length < 0 || length > max) {
+			throw new IOException("Invalid length: " + length);
+		}
+		return length;
+	}
+
+	/**
+	 * Hashes the jars (or class directories) containing the compiler and the
+	 * script runtime. Calculated once, returns null if any of them cannot be
+	 * read, in which case caching is disabled.
+	 */
+	private static synchronized byte[] getCodeHash() {
+		if (!codeHashed) {
+			codeHashed = true;
+
+			Set<File> sources = new LinkedHashSet<File>();
+			try {
+				for (Class<?> cls : new Class<?>[] { ZenModule.class, ScriptCache.class }) {
+					CodeSource source = cls.getProtectionDomain().getCodeSource();
+					if (source == null || source.getLocation() == null) {
+						return null;
+					}
+					sources.add(new File(source.getLocation().toURI()));
+				}
+
+				MessageDigest digest = createDigest();
+				for (File source : sources) {
+					hashFile(digest, source);
+				}
+				codeHash = digest.digest();
+			} catch (IOException ex) {
+				return null;
+			} catch (URISyntaxException ex) {
+				return null;
+			} catch (RuntimeException ex) {
+				// non-file code sources or security restrictions
+				return null;
+			}
+		}
+
+		return codeHash;
+	}
+
+	private static void hashFile(MessageDigest digest, File file) throws IOException {
+		if (file.isDirectory()) {
+			File[] children = file.listFiles();
+			if (children == null) {
+				throw new IOException("Cannot list " + file);
+			}
+			Arrays.sort(children);
+			for (File child : children) {
+				digest.update(child.getName().getBytes("UTF-8"));
+				hashFile(digest, child);
+			}
+		} else {
+			InputStream input = new BufferedInputStream(new FileInputStream(file));
+			try {
+				byte[] buffer = new byte[8192];
+				int read;
+				while ((read = input.read(buffer)) > 0) {
+					digest.update(buffer, 0, read);
+				}
+			} finally {
+				input.close();
+			}
+		}
+	}
+
+	private File getFile(String group) {
+		try {
+			byte[] hash = createDigest().digest(group.getBytes("UTF-8"));
+
+			StringBuilder name = new StringBuilder();
+			for (byte b : hash) {
+				name.append(Character.forDigit((b >> 4) & 0xF, 16));
+				name.append(Character.forDigit(b & 0xF, 16));
+			}
+			name.append(".zsc");
+
+			return new File(directory, name.toString());
+		} catch (UnsupportedEncodingException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-1");
+		} catch (NoSuchAlgorithmException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
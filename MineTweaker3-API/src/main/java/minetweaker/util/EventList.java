@@ -6,85 +6,98 @@
 
 package minetweaker.util;
 
+import java.util.Arrays;
 import minetweaker.api.event.IEventHandle;
 
 /**
+ * List of event handlers. Handlers are kept in a copy-on-write array, so
+ * publishing an event doesn't need any locking. Adding and closing handlers
+ * is safe from any thread; a handler closed while an event is being published
+ * won't receive that event anymore.
  *
  * @author Stan
  */
 public class EventList<T> {
-	private EventNode first = null;
-	private EventNode last = null;
+	@SuppressWarnings("rawtypes")
+	private static final EventNode[] EMPTY = new EventNode[0];
 
-	public void clear() {
-		first = last = null;
+	@SuppressWarnings("unchecked")
+	private volatile EventNode<T>[] nodes = EMPTY;
+
+	@SuppressWarnings("unchecked")
+	public synchronized void clear() {
+		for (EventNode<T> node : nodes) {
+			node.closed = true;
+		}
+		nodes = EMPTY;
 	}
 
 	public IEventHandle add(IEventHandler<T> handler) {
-		EventNode node = new EventNode(handler, last, null);
+		EventNode<T> node = new EventNode<T>(this, handler);
 
 		synchronized (this) {
-			if (first == null) {
-				first = node;
-			}
-			if (last != null) {
-				last.next = node;
-			}
-			last = node;
+			EventNode<T>[] newNodes = Arrays.copyOf(nodes, nodes.length + 1);
+			newNodes[nodes.length] = node;
+			nodes = newNodes;
 		}
 
 		return node;
 	}
 
 	public boolean hasHandlers() {
-		return first != null;
+		return nodes.length > 0;
 	}
 
 	public boolean isEmpty() {
-		return first == null;
+		return nodes.length == 0;
 	}
 
 	public void publish(T event) {
-		EventNode current = null;
-
-		synchronized (this) {
-			current = first;
+		EventNode<T>[] current = nodes;
+		for (int i = 0; i < current.length; i++) {
+			EventNode<T> node = current[i];
+			if (!node.closed) {
+				node.handler.handle(event);
+			}
 		}
+	}
 
-		while (current != null) {
-			current.handler.handle(event);
-
-			synchronized (this) {
-				current = current.next;
+	@SuppressWarnings("unchecked")
+	private synchronized void remove(EventNode<T> node) {
+		EventNode<T>[] current = nodes;
+		for (int i = 0; i < current.length; i++) {
+			if (current[i] == node) {
+				if (current.length == 1) {
+					nodes = EMPTY;
+				} else {
+					EventNode<T>[] newNodes = Arrays.copyOf(current, current.length - 1);
+					System.arraycopy(current, i + 1, newNodes, i, current.length - i - 1);
+					nodes = newNodes;
+				}
+				return;
 			}
 		}
 	}
 
-	private class EventNode implements IEventHandle {
+	private static class EventNode<T> implements IEventHandle {
+		private final EventList<T> list;
 		private final IEventHandler<T> handler;
-		private EventNode next;
-		private EventNode prev;
+		private volatile boolean closed = false;
 
-		public EventNode(IEventHandler<T> handler, EventNode prev, EventNode next) {
+		public EventNode(EventList<T> list, IEventHandler<T> handler) {
+			this.list = list;
 			this.handler = handler;
-			this.prev = prev;
-			this.next = next;
 		}
 
 		@Override
 		public void close() {
-			synchronized (EventList.this) {
-				if (prev == null) {
-					first = next;
-				} else {
-					prev.next = next;
+			synchronized (list) {
+				if (closed) {
+					return;
 				}
+				closed = true;
 
-				if (next == null) {
-					last = prev;
-				} else {
-					next.prev = prev;
-				}
+				list.remove(this);
 			}
 		}
 	}
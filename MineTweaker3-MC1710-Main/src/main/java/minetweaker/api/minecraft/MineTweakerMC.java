@@ -3,11 +3,13 @@ package minetweaker.api.minecraft;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import minetweaker.MineTweakerAPI;
 import minetweaker.api.block.IBlock;
 import minetweaker.api.block.IBlockDefinition;
 import minetweaker.api.data.IData;
 import minetweaker.api.item.IIngredient;
+import minetweaker.api.item.IItemDefinition;
 import minetweaker.api.item.IItemStack;
 import minetweaker.api.item.IngredientUnknown;
 import minetweaker.api.liquid.ILiquidStack;
@@ -18,6 +20,7 @@ import minetweaker.api.world.IDimension;
 import minetweaker.mc1710.block.MCBlockDefinition;
 import minetweaker.mc1710.block.MCSpecificBlock;
 import minetweaker.mc1710.data.NBTConverter;
+import minetweaker.mc1710.item.MCItemDefinition;
 import minetweaker.mc1710.item.MCItemStack;
 import minetweaker.mc1710.oredict.MCOreDictEntry;
 import minetweaker.mc1710.player.MCPlayer;
@@ -44,6 +47,7 @@ import net.minecraftforge.oredict.OreDictionary;
  */
 public class MineTweakerMC {
 	private static final Map<Block, MCBlockDefinition> blockDefinitions = new HashMap<Block, MCBlockDefinition>();
+	private static final Map<Item, IItemDefinition> itemDefinitions = new ConcurrentHashMap<Item, IItemDefinition>();
 	public static final IBiome[] biomes;
 
 	static {
@@ -105,6 +109,41 @@ public class MineTweakerMC {
 		return new MCItemStack(item);
 	}
 
+	/**
+	 * Returns a MineTweaker item stack wrapping the given item, without making
+	 * a copy. Meant for code that only needs to match the stack against
+	 * ingredients; the result must not be kept around, since any changes to
+	 * the minecraft stack show through.
+	 * 
+	 * @param item minecraft item stack
+	 * @return minetweaker item stack
+	 */
+	public static IItemStack getIItemStackForMatching(ItemStack item) {
+		if (item == null)
+			return null;
+
+		return MCItemStack.createNonCopy(item);
+	}
+
+	/**
+	 * Returns the item definition for the given item. Definitions are cached
+	 * per item.
+	 * 
+	 * @param item minecraft item
+	 * @return minetweaker item definition
+	 */
+	public static IItemDefinition getItemDefinition(Item item) {
+		if (item == null)
+			return null;
+
+		IItemDefinition result = itemDefinitions.get(item);
+		if (result == null) {
+			result = new MCItemDefinition(Item.itemRegistry.getNameForObject(item), item);
+			itemDefinitions.put(item, result);
+		}
+		return result;
+	}
+
 	/**
 	 * Constructs an item stack with wildcard size.
 	 * 
@@ -26,17 +26,25 @@ public class FMLEventHandler {
 			MineTweakerMod.NETWORK.sendTo(new MineTweakerLoadScriptsPacket(MineTweakerAPI.tweaker.getScriptData()), player);
 		}
 
-		MineTweakerImplementationAPI.events.publishPlayerLoggedIn(new PlayerLoggedInEvent(MineTweakerMC.getIPlayer(ev.player)));
+		if (MineTweakerImplementationAPI.events.hasPlayerLoggedIn()) {
+			MineTweakerImplementationAPI.events.publishPlayerLoggedIn(new PlayerLoggedInEvent(MineTweakerMC.getIPlayer(ev.player)));
+		}
 	}
 
 	@SubscribeEvent
 	public void onPlayerItemCrafted(PlayerEvent.ItemCraftedEvent ev) {
+		boolean transform = MineTweakerMod.INSTANCE.recipes.hasTransformerRecipes();
+		boolean publish = MineTweakerImplementationAPI.events.hasPlayerCrafted();
+		if (!transform && !publish) {
+			return;
+		}
+
 		IPlayer iPlayer = MineTweakerMC.getIPlayer(ev.player);
-		if (MineTweakerMod.INSTANCE.recipes.hasTransformerRecipes()) {
+		if (transform) {
 			MineTweakerMod.INSTANCE.recipes.applyTransformations(MCCraftingInventory.get(ev.craftMatrix, ev.player), iPlayer);
 		}
 
-		if (MineTweakerImplementationAPI.events.hasPlayerCrafted()) {
+		if (publish) {
 			MineTweakerImplementationAPI.events.publishPlayerCrafted(new PlayerCraftedEvent(iPlayer, MineTweakerMC.getIItemStack(ev.crafting), MCCraftingInventory.get(ev.craftMatrix, ev.player)));
 		}
 	}
@@ -50,7 +58,9 @@ public class FMLEventHandler {
 
 	@SubscribeEvent
 	public void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent ev) {
-		MineTweakerImplementationAPI.events.publishPlayerLoggedOut(new PlayerLoggedOutEvent(MineTweakerMC.getIPlayer(ev.player)));
+		if (MineTweakerImplementationAPI.events.hasPlayerLoggedOut()) {
+			MineTweakerImplementationAPI.events.publishPlayerLoggedOut(new PlayerLoggedOutEvent(MineTweakerMC.getIPlayer(ev.player)));
+		}
 	}
 
 }
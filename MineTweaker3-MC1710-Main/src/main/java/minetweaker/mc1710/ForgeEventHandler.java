@@ -11,10 +11,14 @@ import minetweaker.MineTweakerImplementationAPI;
 import minetweaker.api.formatting.IFormattedText;
 import minetweaker.api.item.IItemStack;
 import minetweaker.api.minecraft.MineTweakerMC;
+import minetweaker.api.recipes.IngredientPrefilter;
 import minetweaker.api.tooltip.IngredientTooltips;
 import minetweaker.mc1710.formatting.IMCFormattedString;
+import minetweaker.mc1710.oredict.OreDictIndex;
+import minetweaker.mc1710.recipes.CraftingMatchCache;
 import net.minecraftforge.event.entity.player.ItemTooltipEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
+import net.minecraftforge.oredict.OreDictionary;
 import org.lwjgl.input.Keyboard;
 
 /**
@@ -24,6 +28,10 @@ import org.lwjgl.input.Keyboard;
 public class ForgeEventHandler {
 	@SubscribeEvent
 	public void onPlayerInteract(PlayerInteractEvent ev) {
+		if (!MineTweakerImplementationAPI.events.hasPlayerInteract()) {
+			return;
+		}
+
 		minetweaker.api.event.PlayerInteractEvent event = new minetweaker.api.event.PlayerInteractEvent(
 				MineTweakerMC.getIPlayer(ev.entityPlayer),
 				MineTweakerMC.getDimension(ev.world),
@@ -35,7 +43,11 @@ public class ForgeEventHandler {
 
 	@SubscribeEvent
 	public void onItemTooltip(ItemTooltipEvent ev) {
-		IItemStack itemStack = MineTweakerMC.getIItemStack(ev.itemStack);
+		if (ev.itemStack == null || !IngredientTooltips.hasTooltips(MineTweakerMC.getItemDefinition(ev.itemStack.getItem()))) {
+			return;
+		}
+
+		IItemStack itemStack = MineTweakerMC.getIItemStackForMatching(ev.itemStack);
 		for (IFormattedText tooltip : IngredientTooltips.getTooltips(itemStack)) {
 			ev.toolTip.add(((IMCFormattedString) tooltip).getTooltipString());
 		}
@@ -46,4 +58,13 @@ public class ForgeEventHandler {
 			}
 		}
 	}
+
+	@SubscribeEvent
+	public void onOreRegister(OreDictionary.OreRegisterEvent ev) {
+		OreDictIndex.update(OreDictionary.getOreID(ev.Name));
+
+		// ores registered by other mods after the filters were built
+		IngredientPrefilter.invalidateAll();
+		CraftingMatchCache.invalidate();
+	}
 }
@@ -9,9 +9,9 @@ package minetweaker.mc1710;
 import minetweaker.IPlatformFunctions;
 import minetweaker.api.chat.IChatMessage;
 import minetweaker.api.item.IItemDefinition;
+import minetweaker.api.minecraft.MineTweakerMC;
 import static minetweaker.mc1710.MineTweakerMod.NETWORK;
 import minetweaker.mc1710.chat.MCChatMessage;
-import minetweaker.mc1710.item.MCItemDefinition;
 import minetweaker.mc1710.network.MineTweakerLoadScriptsPacket;
 import net.minecraft.item.Item;
 
@@ -40,7 +40,6 @@ public class MCPlatformFunctions implements IPlatformFunctions {
 		Item item = Item.getItemById(id);
 		if (item == null)
 			return null;
-		String sid = Item.itemRegistry.getNameForObject(item);
-		return new MCItemDefinition(sid, item);
+		return MineTweakerMC.getItemDefinition(item);
 	}
 }
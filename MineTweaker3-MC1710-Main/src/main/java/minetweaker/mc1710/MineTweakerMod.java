@@ -25,6 +25,7 @@ import java.io.File;
 import minetweaker.MineTweakerAPI;
 import minetweaker.MineTweakerImplementationAPI;
 import minetweaker.api.logger.FileLogger;
+import minetweaker.api.logger.LogLevel;
 import minetweaker.mc1710.brackets.ItemBracketHandler;
 import minetweaker.mc1710.client.MCClient;
 import minetweaker.mc1710.formatting.MCFormatter;
@@ -102,7 +103,8 @@ public class MineTweakerMod {
 				new MCFormatter(),
 				new MCVanilla());
 
-		MineTweakerImplementationAPI.logger.addLogger(new FileLogger(new File("minetweaker.log")));
+		MineTweakerImplementationAPI.logger.addLogger(new FileLogger(new File("minetweaker.log"), true));
+		MineTweakerImplementationAPI.logger.setLogLevel(LogLevel.parse(System.getProperty("minetweaker.logLevel"), LogLevel.INFO));
 		MineTweakerImplementationAPI.platform = MCPlatformFunctions.INSTANCE;
 
 		File globalDir = new File("scripts");
@@ -79,9 +79,19 @@ public class MCWorldBlock implements IBlock {
 
 	@Override
 	public boolean matches(IBlock block) {
-		return getDefinition() == block.getDefinition()
-				&& (getMeta() == OreDictionary.WILDCARD_VALUE || getMeta() == block.getMeta())
-				&& (getTileData() == null || (block.getTileData() != null && block.getTileData().contains(getTileData())));
+		// block and meta are cheap to compare; tile data is only converted if
+		// those match, and only once
+		int meta = getMeta();
+		if (getDefinition() != block.getDefinition()
+				|| (meta != OreDictionary.WILDCARD_VALUE && meta != block.getMeta()))
+			return false;
+
+		IData data = getTileData();
+		if (data == null)
+			return true;
+
+		IData blockData = block.getTileData();
+		return blockData != null && blockData.contains(data);
 	}
 
 	@Override
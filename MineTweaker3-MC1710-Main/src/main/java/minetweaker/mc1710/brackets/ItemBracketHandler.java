@@ -6,11 +6,15 @@
 
 package minetweaker.mc1710.brackets;
 
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import minetweaker.IBracketHandler;
+import minetweaker.IStatefulBracketHandler;
 import minetweaker.MineTweakerAPI;
 import minetweaker.annotations.BracketHandler;
 import minetweaker.api.item.IItemStack;
@@ -22,6 +26,7 @@ import stanhebben.zenscript.ZenTokener;
 import stanhebben.zenscript.compiler.IEnvironmentGlobal;
 import stanhebben.zenscript.expression.ExpressionInt;
 import stanhebben.zenscript.expression.ExpressionCallStatic;
+import stanhebben.zenscript.expression.ExpressionClassConstant;
 import stanhebben.zenscript.expression.ExpressionString;
 import stanhebben.zenscript.expression.partial.IPartialExpression;
 import stanhebben.zenscript.parser.Token;
@@ -35,7 +40,7 @@ import stanhebben.zenscript.util.ZenPosition;
  * @author Stan
  */
 @BracketHandler(priority = 100)
-public class ItemBracketHandler implements IBracketHandler {
+public class ItemBracketHandler implements IStatefulBracketHandler {
 	private static final Map<String, Item> itemNames = new HashMap<String, Item>();
 
 	@SuppressWarnings("unchecked")
@@ -102,6 +107,21 @@ public class ItemBracketHandler implements IBracketHandler {
 		return find(environment, tokens, fromIndex, toIndex, meta);
 	}
 
+	@Override
+	public void updateFingerprint(MessageDigest digest) {
+		List<String> names = new ArrayList<String>(itemNames.keySet());
+		Collections.sort(names);
+
+		try {
+			for (String name : names) {
+				digest.update(name.getBytes("UTF-8"));
+				digest.update((byte) 0);
+			}
+		} catch (UnsupportedEncodingException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
 	private IZenSymbol find(IEnvironmentGlobal environment, List<Token> tokens, int startIndex, int endIndex, int meta) {
 		StringBuilder valueBuilder = new StringBuilder();
 		for (int i = startIndex; i < endIndex; i++) {
@@ -130,12 +150,15 @@ public class ItemBracketHandler implements IBracketHandler {
 
 		@Override
 		public IPartialExpression instance(ZenPosition position) {
-			return new ExpressionCallStatic(
+			return new ExpressionClassConstant(
 					position,
-					environment,
-					method,
-					new ExpressionString(position, name),
-					new ExpressionInt(position, meta, ZenType.INT));
+					"item:" + name + ":" + meta,
+					new ExpressionCallStatic(
+							position,
+							environment,
+							method,
+							new ExpressionString(position, name),
+							new ExpressionInt(position, meta, ZenType.INT)));
 		}
 	}
 }
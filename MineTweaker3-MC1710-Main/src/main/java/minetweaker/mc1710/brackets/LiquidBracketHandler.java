@@ -1,7 +1,11 @@
 package minetweaker.mc1710.brackets;
 
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import minetweaker.IBracketHandler;
+import minetweaker.IStatefulBracketHandler;
 import minetweaker.annotations.BracketHandler;
 import minetweaker.mc1710.liquid.MCLiquidStack;
 import minetweaker.api.liquid.ILiquidStack;
@@ -11,6 +15,7 @@ import net.minecraftforge.fluids.FluidRegistry;
 import net.minecraftforge.fluids.FluidStack;
 import stanhebben.zenscript.compiler.IEnvironmentGlobal;
 import stanhebben.zenscript.expression.ExpressionCallStatic;
+import stanhebben.zenscript.expression.ExpressionClassConstant;
 import stanhebben.zenscript.expression.ExpressionString;
 import stanhebben.zenscript.expression.partial.IPartialExpression;
 import stanhebben.zenscript.parser.Token;
@@ -24,7 +29,7 @@ import stanhebben.zenscript.util.ZenPosition;
  * @author Stan
  */
 @BracketHandler
-public class LiquidBracketHandler implements IBracketHandler {
+public class LiquidBracketHandler implements IStatefulBracketHandler {
 	public static ILiquidStack getLiquid(String name) {
 		Fluid fluid = FluidRegistry.getFluid(name);
 		if (fluid != null) {
@@ -45,6 +50,21 @@ public class LiquidBracketHandler implements IBracketHandler {
 		return null;
 	}
 
+	@Override
+	public void updateFingerprint(MessageDigest digest) {
+		List<String> names = new ArrayList<String>(FluidRegistry.getRegisteredFluids().keySet());
+		Collections.sort(names);
+
+		try {
+			for (String name : names) {
+				digest.update(name.getBytes("UTF-8"));
+				digest.update((byte) 0);
+			}
+		} catch (UnsupportedEncodingException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
 	private IZenSymbol find(IEnvironmentGlobal environment, List<Token> tokens, int startIndex, int endIndex) {
 		StringBuilder valueBuilder = new StringBuilder();
 		for (int i = startIndex; i < endIndex; i++) {
@@ -77,11 +97,14 @@ public class LiquidBracketHandler implements IBracketHandler {
 					"getLiquid",
 					String.class);
 
-			return new ExpressionCallStatic(
+			return new ExpressionClassConstant(
 					position,
-					environment,
-					method,
-					new ExpressionString(position, name));
+					"liquid:" + name,
+					new ExpressionCallStatic(
+							position,
+							environment,
+							method,
+							new ExpressionString(position, name)));
 		}
 	}
 }
@@ -15,15 +15,24 @@ import java.util.List;
 import minetweaker.MineTweakerAPI;
 import minetweaker.api.item.IItemStack;
 import minetweaker.api.minecraft.MineTweakerMC;
+import minetweaker.api.recipes.IngredientPrefilter;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
+import net.minecraft.util.LongHashMap;
 
 public class FuelTweaker {
 	public static final FuelTweaker INSTANCE = new FuelTweaker();
 
+	private static final int NO_OVERRIDE = Integer.MIN_VALUE;
+
 	private List<IFuelHandler> original;
 	private final HashMap<Item, List<SetFuelPattern>> quickList = new HashMap<Item, List<SetFuelPattern>>();
 
+	// resolved burn times of plain stacks, by item id, damage and stack size
+	private LongHashMap burnTimes = new LongHashMap();
+	private int burnTimesVersion = 0;
+	private int burnTimesGeneration = -1;
+
 	private FuelTweaker() {
 	}
 
@@ -44,13 +53,15 @@ public class FuelTweaker {
 		}
 	}
 
-	public void addFuelPattern(SetFuelPattern pattern) {
+	public synchronized void addFuelPattern(SetFuelPattern pattern) {
 		List<IItemStack> items = pattern.getPattern().getItems();
 		if (items == null) {
 			MineTweakerAPI.logError("Cannot set fuel for <*>");
 			return;
 		}
 
+		invalidate();
+
 		for (IItemStack item : pattern.getPattern().getItems()) {
 			ItemStack itemStack = MineTweakerMC.getItemStack(item);
 			Item mcItem = itemStack.getItem();
@@ -61,7 +72,9 @@ public class FuelTweaker {
 		}
 	}
 
-	public void removeFuelPattern(SetFuelPattern pattern) {
+	public synchronized void removeFuelPattern(SetFuelPattern pattern) {
+		invalidate();
+
 		for (IItemStack item : pattern.getPattern().getItems()) {
 			ItemStack itemStack = MineTweakerMC.getItemStack(item);
 			Item mcItem = itemStack.getItem();
@@ -71,24 +84,77 @@ public class FuelTweaker {
 		}
 	}
 
+	private void invalidate() {
+		burnTimes = new LongHashMap();
+		burnTimesVersion++;
+	}
+
+	private synchronized int getOverride(ItemStack fuel) {
+		List<SetFuelPattern> patterns = quickList.get(fuel.getItem());
+		if (patterns != null && !patterns.isEmpty()) {
+			IItemStack stack = MineTweakerMC.getIItemStackForMatching(fuel);
+
+			for (SetFuelPattern override : patterns) {
+				if (override.getPattern().matches(stack)) {
+					return override.getValue();
+				}
+			}
+		}
+
+		return NO_OVERRIDE;
+	}
+
+	private int calculateBurnTime(ItemStack fuel) {
+		int override = getOverride(fuel);
+		if (override != NO_OVERRIDE) {
+			return override;
+		}
+
+		int max = 0;
+		for (IFuelHandler handler : original) {
+			max = Math.max(max, handler.getBurnTime(fuel));
+		}
+		return max;
+	}
+
 	private class OverridingFuelHandler implements IFuelHandler {
 		@Override
 		public int getBurnTime(ItemStack fuel) {
-			if (quickList.containsKey(fuel.getItem())) {
-				IItemStack stack = MineTweakerMC.getIItemStack(fuel);
+			// other fuel handlers may look at the tag, so only plain stacks
+			// are cached
+			if (fuel.hasTagCompound() || (fuel.getItemDamage() & ~0xFFFF) != 0 || (fuel.stackSize & ~0xFFFF) != 0) {
+				return calculateBurnTime(fuel);
+			}
+
+			long key = ((long) Item.getIdFromItem(fuel.getItem()) << 32)
+					| ((long) fuel.getItemDamage() << 16)
+					| fuel.stackSize;
 
-				for (SetFuelPattern override : quickList.get(fuel.getItem())) {
-					if (override.getPattern().matches(stack)) {
-						return override.getValue();
-					}
+			int version;
+			synchronized (FuelTweaker.this) {
+				int generation = IngredientPrefilter.getGeneration();
+				if (burnTimesGeneration != generation) {
+					invalidate();
+					burnTimesGeneration = generation;
 				}
+
+				Integer cached = (Integer) burnTimes.getValueByKey(key);
+				if (cached != null) {
+					return cached;
+				}
+
+				version = burnTimesVersion;
 			}
 
-			int max = 0;
-			for (IFuelHandler handler : original) {
-				max = Math.max(max, handler.getBurnTime(fuel));
+			int result = calculateBurnTime(fuel);
+
+			synchronized (FuelTweaker.this) {
+				if (burnTimesVersion == version) {
+					burnTimes.add(key, result);
+				}
 			}
-			return max;
+
+			return result;
 		}
 	}
 }
@@ -8,26 +8,63 @@ package minetweaker.mc1710.furnace;
 
 import cpw.mods.fml.common.registry.GameRegistry;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import minetweaker.IUndoableAction;
 import minetweaker.MineTweakerAPI;
+import minetweaker.MineTweakerImplementationAPI;
+import minetweaker.MineTweakerImplementationAPI.ReloadEvent;
 import minetweaker.api.item.IIngredient;
 import minetweaker.api.item.IItemStack;
+import minetweaker.api.minecraft.MineTweakerMC;
 import static minetweaker.api.minecraft.MineTweakerMC.getItemStack;
 import static minetweaker.api.minecraft.MineTweakerMC.getItemStacks;
 import minetweaker.api.recipes.IFurnaceManager;
-import minetweaker.mc1710.item.MCItemStack;
+import minetweaker.util.IEventHandler;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.FurnaceRecipes;
+import net.minecraftforge.oredict.OreDictionary;
 
 /**
  *
  * @author Stan
  */
 public class MCFurnaceManager implements IFurnaceManager {
-	public MCFurnaceManager() {
+	// smelting list keys, indexed by input item and by output item
+	private Map<Item, List<ItemStack>> inputIndex = null;
+	private Map<Item, List<ItemStack>> outputIndex = null;
+	private int indexSize = -1;
+
+	private Map<ItemStack, ItemStack> pendingRemovals = null;
 
+	public MCFurnaceManager() {
+		// removals made while scripts are loading are collected and applied
+		// at once when each script group has finished, so that they're rolled
+		// back together with that group
+		MineTweakerImplementationAPI.onReloadEvent(new IEventHandler<ReloadEvent>() {
+			@Override
+			public void handle(ReloadEvent event) {
+				beginBatchRemoval();
+			}
+		});
+		MineTweakerImplementationAPI.onScriptGroupLoaded(new IEventHandler<ReloadEvent>() {
+			@Override
+			public void handle(ReloadEvent event) {
+				endBatchRemoval();
+				beginBatchRemoval();
+			}
+		});
+		MineTweakerImplementationAPI.onPostReload(new IEventHandler<ReloadEvent>() {
+			@Override
+			public void handle(ReloadEvent event) {
+				endBatchRemoval();
+			}
+		});
 	}
 
 	@Override
@@ -39,18 +76,25 @@ public class MCFurnaceManager implements IFurnaceManager {
 
 		List<ItemStack> toRemove = new ArrayList<ItemStack>();
 		List<ItemStack> toRemoveValues = new ArrayList<ItemStack>();
-		for (Map.Entry<ItemStack, ItemStack> entry : smeltingList.entrySet()) {
-			if (output.matches(new MCItemStack(entry.getValue()))
-					&& (input == null || input.matches(new MCItemStack(entry.getKey())))) {
-				toRemove.add(entry.getKey());
-				toRemoveValues.add(entry.getValue());
+		for (ItemStack key : getCandidates(output)) {
+			ItemStack value = smeltingList.get(key);
+			if (value == null || isRemovalPending(key)) {
+				continue;
+			}
+
+			if (output.matches(MineTweakerMC.getIItemStackForMatching(value))
+					&& (input == null || input.matches(MineTweakerMC.getIItemStackForMatching(key)))) {
+				toRemove.add(key);
+				toRemoveValues.add(value);
 			}
 		}
 
 		if (toRemove.isEmpty()) {
 			MineTweakerAPI.logWarning("No furnace recipes for " + output.toString());
-		} else {
+		} else if (pendingRemovals == null) {
 			MineTweakerAPI.apply(new RemoveAction(toRemove, toRemoveValues));
+		} else {
+			MineTweakerAPI.apply(new QueueRemoveAction(toRemove, toRemoveValues));
 		}
 	}
 
@@ -59,6 +103,7 @@ public class MCFurnaceManager implements IFurnaceManager {
 		List<IItemStack> items = input.getItems();
 		if (items == null) {
 			MineTweakerAPI.logError("Cannot turn " + input.toString() + " into a furnace recipe");
+			return;
 		}
 
 		ItemStack[] items2 = getItemStacks(items);
@@ -80,7 +125,7 @@ public class MCFurnaceManager implements IFurnaceManager {
 	// ### Action classes ###
 	// ######################
 
-	private static class RemoveAction implements IUndoableAction {
+	private class RemoveAction implements IUndoableAction {
 		private final List<ItemStack> items;
 		private final List<ItemStack> values;
 
@@ -94,6 +139,7 @@ public class MCFurnaceManager implements IFurnaceManager {
 			for (ItemStack item : items) {
 				FurnaceRecipes.smelting().getSmeltingList().remove(item);
 			}
+			invalidateIndex();
 		}
 
 		@Override
@@ -106,6 +152,7 @@ public class MCFurnaceManager implements IFurnaceManager {
 			for (int i = 0; i < items.size(); i++) {
 				FurnaceRecipes.smelting().getSmeltingList().put(items.get(i), values.get(i));
 			}
+			invalidateIndex();
 		}
 
 		@Override
@@ -124,12 +171,14 @@ public class MCFurnaceManager implements IFurnaceManager {
 		}
 	}
 
-	private static class AddRecipeAction implements IUndoableAction {
+	private class AddRecipeAction implements IUndoableAction {
 		private final IIngredient ingredient;
 		private final ItemStack[] input;
 		private final ItemStack output;
 		private final double xp;
 
+		private final List<ItemStack> added = new ArrayList<ItemStack>();
+
 		public AddRecipeAction(IIngredient ingredient, ItemStack[] input, ItemStack output, double xp) {
 			this.ingredient = ingredient;
 			this.input = input;
@@ -139,9 +188,15 @@ public class MCFurnaceManager implements IFurnaceManager {
 
 		@Override
 		public void apply() {
+			added.clear();
 			for (ItemStack inputStack : input) {
-				FurnaceRecipes.smelting().func_151394_a(inputStack, output, (float) xp);
+				// the same recipe twice would only be a dead entry
+				if (!hasRecipe(inputStack, output, (float) xp)) {
+					FurnaceRecipes.smelting().func_151394_a(inputStack, output, (float) xp);
+					added.add(inputStack);
+				}
 			}
+			invalidateIndex();
 		}
 
 		@Override
@@ -151,9 +206,11 @@ public class MCFurnaceManager implements IFurnaceManager {
 
 		@Override
 		public void undo() {
-			for (ItemStack inputStack : input) {
+			for (ItemStack inputStack : added) {
 				FurnaceRecipes.smelting().getSmeltingList().remove(inputStack);
 			}
+			added.clear();
+			invalidateIndex();
 		}
 
 		@Override
@@ -172,6 +229,62 @@ public class MCFurnaceManager implements IFurnaceManager {
 		}
 	}
 
+	private class QueueRemoveAction implements IUndoableAction {
+		private final List<ItemStack> items;
+		private final List<ItemStack> values;
+		private final RemoveAction immediate;
+		private boolean queued;
+
+		public QueueRemoveAction(List<ItemStack> items, List<ItemStack> values) {
+			this.items = items;
+			this.values = values;
+			immediate = new RemoveAction(items, values);
+		}
+
+		@Override
+		public void apply() {
+			queued = pendingRemovals != null;
+			if (queued) {
+				for (int i = 0; i < items.size(); i++) {
+					pendingRemovals.put(items.get(i), values.get(i));
+				}
+			} else {
+				immediate.apply();
+			}
+		}
+
+		@Override
+		public boolean canUndo() {
+			return true;
+		}
+
+		@Override
+		public void undo() {
+			if (!queued) {
+				immediate.undo();
+			} else if (pendingRemovals != null) {
+				for (ItemStack item : items) {
+					pendingRemovals.remove(item);
+				}
+			}
+		}
+
+		@Override
+		public String describe() {
+			return "Removing " + items.size() + " furnace recipes";
+		}
+
+		@Override
+		public String describeUndo() {
+			return "Restoring " + items.size() + " furnace recipes";
+		}
+
+		@Override
+		public Object getOverrideKey() {
+			return null;
+		}
+	}
+
 	private static class SetFuelAction implements IUndoableAction {
 		private final SetFuelPattern pattern;
 
@@ -209,4 +322,134 @@ public class MCFurnaceManager implements IFurnaceManager {
 			return null;
 		}
 	}
+
+	// #######################
+	// ### Private methods ###
+	// #######################
+
+	private boolean isRemovalPending(ItemStack key) {
+		return pendingRemovals != null && pendingRemovals.containsKey(key);
+	}
+
+	private void beginBatchRemoval() {
+		pendingRemovals = new IdentityHashMap<ItemStack, ItemStack>();
+	}
+
+	/**
+	 * Applies all removals queued since the batch was started. The queued
+	 * actions stay registered so that rollback still undoes them; the actual
+	 * removal is performed (and undone) by a single action.
+	 */
+	private void endBatchRemoval() {
+		Map<ItemStack, ItemStack> pending = pendingRemovals;
+		pendingRemovals = null;
+
+		if (pending != null && !pending.isEmpty()) {
+			MineTweakerAPI.apply(new RemoveAction(
+					new ArrayList<ItemStack>(pending.keySet()),
+					new ArrayList<ItemStack>(pending.values())));
+		}
+	}
+
+	private void invalidateIndex() {
+		inputIndex = null;
+		outputIndex = null;
+	}
+
+	private void updateIndex() {
+		Map<ItemStack, ItemStack> smeltingList = FurnaceRecipes.smelting().getSmeltingList();
+		if (inputIndex != null && indexSize == smeltingList.size()) {
+			return;
+		}
+
+		inputIndex = new HashMap<Item, List<ItemStack>>();
+		outputIndex = new HashMap<Item, List<ItemStack>>();
+		for (Map.Entry<ItemStack, ItemStack> entry : smeltingList.entrySet()) {
+			addToIndex(inputIndex, entry.getKey(), entry.getKey());
+			addToIndex(outputIndex, entry.getValue(), entry.getKey());
+		}
+		indexSize = smeltingList.size();
+	}
+
+	private static void addToIndex(Map<Item, List<ItemStack>> index, ItemStack stack, ItemStack key) {
+		if (stack == null || stack.getItem() == null) {
+			return;
+		}
+
+		List<ItemStack> keys = index.get(stack.getItem());
+		if (keys == null) {
+			keys = new ArrayList<ItemStack>();
+			index.put(stack.getItem(), keys);
+		}
+		keys.add(key);
+	}
+
+	/**
+	 * Determines which smelting list entries could possibly produce the given
+	 * output. If the ingredient cannot be narrowed down to a set of items
+	 * (such as the &lt;*&gt; wildcard), all entries are returned.
+	 *
+	 * @param output output ingredient
+	 * @return candidate smelting list keys
+	 */
+	private Iterable<ItemStack> getCandidates(IIngredient output) {
+		Map<ItemStack, ItemStack> smeltingList = FurnaceRecipes.smelting().getSmeltingList();
+
+		List<IItemStack> items = output.getItems();
+		if (items == null || items.isEmpty()) {
+			return new ArrayList<ItemStack>(smeltingList.keySet());
+		}
+
+		Set<Item> outputItems = new LinkedHashSet<Item>();
+		for (IItemStack item : items) {
+			Object internal = item.getInternal();
+			if (!(internal instanceof ItemStack)) {
+				return new ArrayList<ItemStack>(smeltingList.keySet());
+			}
+
+			outputItems.add(((ItemStack) internal).getItem());
+		}
+
+		updateIndex();
+
+		List<ItemStack> result = new ArrayList<ItemStack>();
+		for (Item item : outputItems) {
+			List<ItemStack> keys = outputIndex.get(item);
+			if (keys != null) {
+				result.addAll(keys);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Checks if the smelting list already contains a recipe turning the given
+	 * input into the given output with the given experience. Recipes queued
+	 * for removal don't count, as they will be gone once the batch is applied.
+	 */
+	private boolean hasRecipe(ItemStack input, ItemStack output, float xp) {
+		if (input == null || input.getItem() == null) {
+			return false;
+		}
+
+		updateIndex();
+
+		List<ItemStack> keys = inputIndex.get(input.getItem());
+		if (keys == null) {
+			return false;
+		}
+
+		Map<ItemStack, ItemStack> smeltingList = FurnaceRecipes.smelting().getSmeltingList();
+		for (ItemStack key : keys) {
+			ItemStack existing = smeltingList.get(key);
+			if (existing != null
+					&& !isRemovalPending(key)
+					&& (key.getItemDamage() == input.getItemDamage() || key.getItemDamage() == OreDictionary.WILDCARD_VALUE && input.getItemDamage() == OreDictionary.WILDCARD_VALUE)
+					&& ItemStack.areItemStacksEqual(existing, output)
+					&& FurnaceRecipes.smelting().func_151398_b(existing) == xp) {
+				return true;
+			}
+		}
+		return false;
+	}
 }
@@ -24,7 +24,6 @@ import minetweaker.api.world.IBiome;
 // TODO Find this
 // import minetweaker.mc1710.GuiCannotRemodify;
 import minetweaker.mc1710.entity.MCEntityDefinition;
-import minetweaker.mc1710.item.MCItemDefinition;
 import minetweaker.mc1710.liquid.MCLiquidDefinition;
 import minetweaker.mc1710.util.MineTweakerHacks;
 import minetweaker.mc1710.util.MineTweakerPlatformUtils;
@@ -52,7 +51,7 @@ public class MCGame implements IGame {
 	public List<IItemDefinition> getItems() {
 		List<IItemDefinition> result = new ArrayList<IItemDefinition>();
 		for (String item : (Set<String>) Item.itemRegistry.getKeys()) {
-			result.add(new MCItemDefinition(item, (Item) Item.itemRegistry.getObject(item)));
+			result.add(MineTweakerMC.getItemDefinition((Item) Item.itemRegistry.getObject(item)));
 		}
 		return result;
 	}
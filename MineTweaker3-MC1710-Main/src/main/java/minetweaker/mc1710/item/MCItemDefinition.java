@@ -8,14 +8,14 @@ package minetweaker.mc1710.item;
 
 import java.util.ArrayList;
 import java.util.List;
-import minetweaker.MineTweakerAPI;
 import minetweaker.api.item.IItemDefinition;
 import minetweaker.api.item.IItemStack;
 import minetweaker.api.minecraft.MineTweakerMC;
 import minetweaker.api.oredict.IOreDictEntry;
+import minetweaker.mc1710.oredict.MCOreDictEntry;
+import minetweaker.mc1710.oredict.OreDictIndex;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
-import net.minecraftforge.oredict.OreDictionary;
 
 /**
  *
@@ -49,13 +49,8 @@ public class MCItemDefinition implements IItemDefinition {
 	public List<IOreDictEntry> getOres() {
 		List<IOreDictEntry> result = new ArrayList<IOreDictEntry>();
 
-		for (String key : OreDictionary.getOreNames()) {
-			for (ItemStack is : OreDictionary.getOres(key)) {
-				if (is.getItem() == item) {
-					result.add(MineTweakerAPI.oreDict.get(key));
-					break;
-				}
-			}
+		for (int oreId : OreDictIndex.getOreIds(item)) {
+			result.add(new MCOreDictEntry(oreId));
 		}
 
 		return result;
@@ -26,6 +26,7 @@ import minetweaker.api.item.IngredientItem;
 import minetweaker.api.item.IngredientOr;
 import minetweaker.api.item.WeightedItemStack;
 import minetweaker.api.liquid.ILiquidStack;
+import minetweaker.api.minecraft.MineTweakerMC;
 import minetweaker.api.oredict.IOreDictEntry;
 import minetweaker.api.player.IPlayer;
 import minetweaker.mc1710.actions.SetBlockHardnessAction;
@@ -35,6 +36,8 @@ import minetweaker.mc1710.actions.SetTranslationAction;
 import minetweaker.mc1710.block.MCItemBlock;
 import minetweaker.mc1710.data.NBTConverter;
 import minetweaker.mc1710.liquid.MCLiquidStack;
+import minetweaker.mc1710.oredict.MCOreDictEntry;
+import minetweaker.mc1710.oredict.OreDictIndex;
 import minetweaker.util.ArrayUtil;
 import net.minecraft.block.Block;
 import net.minecraft.item.Item;
@@ -50,7 +53,7 @@ import net.minecraftforge.oredict.OreDictionary;
  */
 public class MCItemStack implements IItemStack {
 	private final ItemStack stack;
-	private final List<IItemStack> items;
+	private List<IItemStack> items = null;
 	private IData tag = null;
 	private boolean wildcardSize;
 
@@ -59,7 +62,6 @@ public class MCItemStack implements IItemStack {
 			throw new IllegalArgumentException("stack cannot be null");
 
 		stack = itemStack.copy();
-		items = Collections.<IItemStack>singletonList(this);
 	}
 
 	public MCItemStack(ItemStack itemStack, boolean wildcardSize) {
@@ -73,20 +75,29 @@ public class MCItemStack implements IItemStack {
 			throw new IllegalArgumentException("stack cannot be null");
 
 		stack = itemStack;
-		items = Collections.<IItemStack>singletonList(this);
 		this.tag = tag;
 	}
 
 	private MCItemStack(ItemStack itemStack, IData tag, boolean wildcardSize) {
 		stack = itemStack;
-		items = Collections.<IItemStack>singletonList(this);
 		this.tag = tag;
 		this.wildcardSize = wildcardSize;
 	}
 
+	/**
+	 * Wraps the given stack without copying it. Only to be used for stacks that
+	 * are used temporarily, such as for matching against ingredients.
+	 * 
+	 * @param itemStack stack to wrap
+	 * @return wrapped stack
+	 */
+	public static MCItemStack createNonCopy(ItemStack itemStack) {
+		return new MCItemStack(itemStack, (IData) null);
+	}
+
 	@Override
 	public IItemDefinition getDefinition() {
-		return new MCItemDefinition(Item.itemRegistry.getNameForObject(stack.getItem()), stack.getItem());
+		return MineTweakerMC.getItemDefinition(stack.getItem());
 	}
 
 	@Override
@@ -233,6 +244,9 @@ public class MCItemStack implements IItemStack {
 
 	@Override
 	public List<IItemStack> getItems() {
+		if (items == null) {
+			items = Collections.<IItemStack>singletonList(this);
+		}
 		return items;
 	}
 
@@ -324,13 +338,8 @@ public class MCItemStack implements IItemStack {
 	public List<IOreDictEntry> getOres() {
 		List<IOreDictEntry> result = new ArrayList<IOreDictEntry>();
 
-		for (String key : OreDictionary.getOreNames()) {
-			for (ItemStack is : OreDictionary.getOres(key)) {
-				if (is.getItem() == stack.getItem() && (is.getItemDamage() == OreDictionary.WILDCARD_VALUE || is.getItemDamage() == stack.getItemDamage())) {
-					result.add(MineTweakerAPI.oreDict.get(key));
-					break;
-				}
-			}
+		for (int oreId : OreDictIndex.getOreIds(stack)) {
+			result.add(new MCOreDictEntry(oreId));
 		}
 
 		return result;
@@ -366,7 +375,7 @@ public class MCItemStack implements IItemStack {
 			return false;
 		if (this.stack.stackSize != other.stack.stackSize)
 			return false;
-		if (this.stack.stackTagCompound != other.stack.stackTagCompound && (this.stack == null || this.stack.equals(other.stack)))
+		if (this.stack.stackTagCompound != other.stack.stackTagCompound && (this.stack.stackTagCompound == null || !this.stack.stackTagCompound.equals(other.stack.stackTagCompound)))
 			return false;
 		if (this.wildcardSize != other.wildcardSize)
 			return false;
@@ -24,6 +24,7 @@ import static minetweaker.api.minecraft.MineTweakerMC.getItemStack;
 import minetweaker.api.oredict.IOreDictEntry;
 import minetweaker.api.oredict.IngredientOreDict;
 import minetweaker.api.player.IPlayer;
+import minetweaker.api.recipes.IngredientPrefilter;
 import minetweaker.util.ArrayUtil;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.oredict.OreDictionary;
@@ -46,6 +47,10 @@ public class MCOreDictEntry implements IOreDictEntry {
 		this.id = OreDictionary.getOreID(id);
 	}
 
+	public int getId() {
+		return id;
+	}
+
 	// ####################################
 	// ### IOreDictEntry implementation ###
 	// ####################################
@@ -94,13 +99,8 @@ public class MCOreDictEntry implements IOreDictEntry {
 
 	@Override
 	public boolean contains(IItemStack item) {
-		for (ItemStack itemStack : OreDictionary.getOres(id)) {
-			if (getIItemStackWildcardSize(itemStack).matches(item)) {
-				return true;
-			}
-		}
-
-		return false;
+		ItemStack stack = getItemStack(item);
+		return stack != null && stack.getItem() != null && OreDictIndex.contains(id, stack);
 	}
 
 	@Override
@@ -234,6 +234,8 @@ public class MCOreDictEntry implements IOreDictEntry {
 		@Override
 		public void apply() {
 			OreDictionary.registerOre(id, item);
+			OreDictIndex.update(id);
+			IngredientPrefilter.invalidateAll();
 		}
 
 		@Override
@@ -244,6 +246,8 @@ public class MCOreDictEntry implements IOreDictEntry {
 		@Override
 		public void undo() {
 			OREDICT_CONTENTS.get(id).remove(item);
+			OreDictIndex.update(id);
+			IngredientPrefilter.invalidateAll();
 		}
 
 		@Override
@@ -281,6 +285,8 @@ public class MCOreDictEntry implements IOreDictEntry {
 		public void apply() {
 			OREDICT_CONTENTS.set(idTarget, OREDICT_CONTENTS.get(idSource));
 			OREDICT_CONTENTS_UN.set(idTarget, OREDICT_CONTENTS_UN.get(idSource));
+			OreDictIndex.update(idTarget);
+			IngredientPrefilter.invalidateAll();
 		}
 
 		@Override
@@ -292,6 +298,8 @@ public class MCOreDictEntry implements IOreDictEntry {
 		public void undo() {
 			OREDICT_CONTENTS.set(idTarget, targetCopy);
 			OREDICT_CONTENTS_UN.set(idTarget, targetCopyUn);
+			OreDictIndex.update(idTarget);
+			IngredientPrefilter.invalidateAll();
 		}
 
 		@Override
@@ -322,6 +330,8 @@ public class MCOreDictEntry implements IOreDictEntry {
 		@Override
 		public void apply() {
 			OREDICT_CONTENTS.get(id).remove(item);
+			OreDictIndex.update(id);
+			IngredientPrefilter.invalidateAll();
 		}
 
 		@Override
@@ -332,6 +342,8 @@ public class MCOreDictEntry implements IOreDictEntry {
 		@Override
 		public void undo() {
 			OREDICT_CONTENTS.get(id).add(item);
+			OreDictIndex.update(id);
+			IngredientPrefilter.invalidateAll();
 		}
 
 		@Override
@@ -364,6 +376,8 @@ public class MCOreDictEntry implements IOreDictEntry {
 			for (ItemStack stack : OreDictionary.getOres(idSource)) {
 				OreDictionary.registerOre(idTarget, stack);
 			}
+			OreDictIndex.update(idTarget);
+			IngredientPrefilter.invalidateAll();
 		}
 
 		@Override
@@ -376,6 +390,8 @@ public class MCOreDictEntry implements IOreDictEntry {
 			for (ItemStack stack : OreDictionary.getOres(idSource)) {
 				OREDICT_CONTENTS.get(idTarget).remove(stack);
 			}
+			OreDictIndex.update(idTarget);
+			IngredientPrefilter.invalidateAll();
 		}
 
 		@Override
@@ -0,0 +1,227 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+
+package minetweaker.mc1710.oredict;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import minetweaker.mc1710.util.MineTweakerHacks;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.oredict.OreDictionary;
+
+/**
+ * Reverse ore dictionary index, mapping items to the ore dictionary entries
+ * containing them. Forge keeps a similar index, but MineTweaker modifies the
+ * ore dictionary contents directly, so that one cannot be relied upon.
+ *
+ * The index is built on first use. Afterwards, it must be updated whenever the
+ * contents of an ore dictionary entry change.
+ *
+ * @author Stan Hebben
+ */
+public class OreDictIndex {
+	private static final List<ArrayList<ItemStack>> OREDICT_CONTENTS = MineTweakerHacks.getOreIdStacks();
+
+	private static Map<Item, List<Entry>> entries = null;
+	private static Map<Integer, Set<Item>> indexedItems = null;
+
+	private OreDictIndex() {
+	}
+
+	/**
+	 * Checks if the given ore dictionary entry contains the given stack. Uses
+	 * the same rules as matching the stack against the entry contents: the
+	 * damage value must be equal or a wildcard, unless the item has neither
+	 * subtypes nor durability.
+	 *
+	 * @param oreId ore dictionary entry id
+	 * @param stack item stack
+	 * @return true if the entry contains the stack
+	 */
+	public static synchronized boolean contains(int oreId, ItemStack stack) {
+		List<Entry> itemEntries = getEntries(stack.getItem());
+		if (itemEntries == null) {
+			return false;
+		}
+
+		boolean anyDamage = !stack.getHasSubtypes() && !stack.getItem().isDamageable();
+		for (int i = 0; i < itemEntries.size(); i++) {
+			Entry entry = itemEntries.get(i);
+			if (entry.oreId == oreId && (anyDamage || entry.matches(stack.getItemDamage()))) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Retrieves the ids of all ore dictionary entries containing the given
+	 * stack, either with the same damage value or as wildcard.
+	 *
+	 * @param stack item stack
+	 * @return ore ids, in ascending order
+	 */
+	public static synchronized List<Integer> getOreIds(ItemStack stack) {
+		List<Entry> itemEntries = getEntries(stack.getItem());
+		if (itemEntries == null) {
+			return Collections.emptyList();
+		}
+
+		List<Integer> result = new ArrayList<Integer>();
+		for (Entry entry : itemEntries) {
+			if (entry.matches(stack.getItemDamage()) && !result.contains(entry.oreId)) {
+				result.add(entry.oreId);
+			}
+		}
+
+		Collections.sort(result);
+		return result;
+	}
+
+	/**
+	 * Retrieves the ids of all ore dictionary entries containing the given
+	 * item, regardless of damage value.
+	 *
+	 * @param item item
+	 * @return ore ids, in ascending order
+	 */
+	public static synchronized List<Integer> getOreIds(Item item) {
+		List<Entry> itemEntries = getEntries(item);
+		if (itemEntries == null) {
+			return Collections.emptyList();
+		}
+
+		List<Integer> result = new ArrayList<Integer>();
+		for (Entry entry : itemEntries) {
+			if (!result.contains(entry.oreId)) {
+				result.add(entry.oreId);
+			}
+		}
+
+		Collections.sort(result);
+		return result;
+	}
+
+	/**
+	 * Updates the index after the contents of the given entry have changed.
+	 * Entries sharing their contents with the given entry (such as mirrored
+	 * entries) are updated as well.
+	 *
+	 * @param oreId ore dictionary entry id
+	 */
+	public static synchronized void update(int oreId) {
+		if (entries == null) {
+			return;
+		}
+
+		if (oreId >= OREDICT_CONTENTS.size()) {
+			// new entries have been created; rebuild everything
+			entries = null;
+			return;
+		}
+
+		List<ItemStack> contents = OREDICT_CONTENTS.get(oreId);
+		for (int i = 0; i < OREDICT_CONTENTS.size(); i++) {
+			if (i == oreId || OREDICT_CONTENTS.get(i) == contents) {
+				unindex(i);
+				index(i);
+			}
+		}
+	}
+
+	// ##########################
+	// ### Private operations ###
+	// ##########################
+
+	private static List<Entry> getEntries(Item item) {
+		if (entries == null || indexedItems.size() != OREDICT_CONTENTS.size()) {
+			build();
+		}
+
+		return entries.get(item);
+	}
+
+	private static void build() {
+		entries = new HashMap<Item, List<Entry>>();
+		indexedItems = new HashMap<Integer, Set<Item>>();
+
+		for (int i = 0; i < OREDICT_CONTENTS.size(); i++) {
+			index(i);
+		}
+	}
+
+	private static void index(int oreId) {
+		Set<Item> items = new HashSet<Item>();
+		indexedItems.put(oreId, items);
+
+		List<ItemStack> contents = OREDICT_CONTENTS.get(oreId);
+		if (contents == null) {
+			return;
+		}
+
+		outer: for (ItemStack stack : contents) {
+			if (stack == null || stack.getItem() == null) {
+				continue;
+			}
+
+			List<Entry> itemEntries = entries.get(stack.getItem());
+			if (itemEntries == null) {
+				itemEntries = new ArrayList<Entry>();
+				entries.put(stack.getItem(), itemEntries);
+			}
+
+			for (Entry entry : itemEntries) {
+				if (entry.oreId == oreId && entry.damage == stack.getItemDamage()) {
+					continue outer;
+				}
+			}
+
+			itemEntries.add(new Entry(oreId, stack.getItemDamage()));
+			items.add(stack.getItem());
+		}
+	}
+
+	private static void unindex(int oreId) {
+		Set<Item> items = indexedItems.remove(oreId);
+		if (items == null) {
+			return;
+		}
+
+		for (Item item : items) {
+			List<Entry> itemEntries = entries.get(item);
+			for (int i = itemEntries.size() - 1; i >= 0; i--) {
+				if (itemEntries.get(i).oreId == oreId) {
+					itemEntries.remove(i);
+				}
+			}
+
+			if (itemEntries.isEmpty()) {
+				entries.remove(item);
+			}
+		}
+	}
+
+	private static class Entry {
+		private final int oreId;
+		private final int damage;
+
+		public Entry(int oreId, int damage) {
+			this.oreId = oreId;
+			this.damage = damage;
+		}
+
+		public boolean matches(int damage) {
+			return this.damage == OreDictionary.WILDCARD_VALUE || this.damage == damage;
+		}
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+
+package minetweaker.mc1710.recipes;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import minetweaker.api.recipes.ICraftingRecipe;
+import net.minecraft.inventory.InventoryCrafting;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+
+/**
+ * Remembers which advanced recipes match which crafting grid contents.
+ * Autocrafters and crafting GUIs check the same grid contents over and over
+ * again, and matching an advanced recipe is expensive. Grids are identified by
+ * the item, damage, stack size and tag of each slot.
+ *
+ * The cache is kept per thread (client and server craft concurrently in single
+ * player) and must be invalidated whenever recipes or ore dictionary contents
+ * change.
+ *
+ * @author Stan Hebben
+ */
+public class CraftingMatchCache {
+	private static final int MAX_ENTRIES = 256;
+
+	private static final AtomicInteger generation = new AtomicInteger();
+	private static final ThreadLocal<CraftingMatchCache> cache = new ThreadLocal<CraftingMatchCache>() {
+		@Override
+		protected CraftingMatchCache initialValue() {
+			return new CraftingMatchCache();
+		}
+	};
+
+	/**
+	 * Checks if the given recipe matches the contents of the given inventory,
+	 * using a cached result if these contents were checked before.
+	 *
+	 * @param recipe recipe to match
+	 * @param inventory crafting inventory
+	 * @return true if the recipe matches
+	 */
+	public static boolean matches(ICraftingRecipe recipe, InventoryCrafting inventory) {
+		return cache.get().match(recipe, inventory);
+	}
+
+	/**
+	 * Discards all cached results, in all threads.
+	 */
+	public static void invalidate() {
+		generation.incrementAndGet();
+	}
+
+	private final Map<GridKey, Map<ICraftingRecipe, Boolean>> entries;
+	private final GridKey probe = new GridKey();
+	private int cacheGeneration = -1;
+
+	private CraftingMatchCache() {
+		entries = new LinkedHashMap<GridKey, Map<ICraftingRecipe, Boolean>>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<GridKey, Map<ICraftingRecipe, Boolean>> eldest) {
+				return size() > MAX_ENTRIES;
+			}
+		};
+	}
+
+	private boolean match(ICraftingRecipe recipe, InventoryCrafting inventory) {
+		int currentGeneration = generation.get();
+		if (cacheGeneration != currentGeneration) {
+			entries.clear();
+			cacheGeneration = currentGeneration;
+		}
+
+		probe.set(inventory);
+		Map<ICraftingRecipe, Boolean> results = entries.get(probe);
+		if (results == null) {
+			results = new IdentityHashMap<ICraftingRecipe, Boolean>();
+			entries.put(probe.copy(), results);
+		}
+
+		Boolean result = results.get(recipe);
+		if (result == null) {
+			result = recipe.matches(MCCraftingInventory.get(inventory));
+			results.put(recipe, result);
+		}
+
+		return result;
+	}
+
+	private static class GridKey {
+		private Item[] items;
+		private int[] damage;
+		private int[] amount;
+		private NBTTagCompound[] tags;
+		private int hash;
+
+		public GridKey() {
+			resize(0);
+		}
+
+		private GridKey(GridKey original) {
+			items = Arrays.copyOf(original.items, original.items.length);
+			damage = Arrays.copyOf(original.damage, original.damage.length);
+			amount = Arrays.copyOf(original.amount, original.amount.length);
+			tags = new NBTTagCompound[original.tags.length];
+			for (int i = 0; i < tags.length; i++) {
+				if (original.tags[i] != null) {
+					tags[i] = (NBTTagCompound) original.tags[i].copy();
+				}
+			}
+			hash = original.hash;
+		}
+
+		public void set(InventoryCrafting inventory) {
+			int size = inventory.getSizeInventory();
+			if (items.length != size) {
+				resize(size);
+			}
+
+			hash = size;
+			for (int i = 0; i < size; i++) {
+				ItemStack stack = inventory.getStackInSlot(i);
+				if (stack == null) {
+					items[i] = null;
+					damage[i] = 0;
+					amount[i] = 0;
+					tags[i] = null;
+				} else {
+					items[i] = stack.getItem();
+					damage[i] = stack.getItemDamage();
+					amount[i] = stack.stackSize;
+					tags[i] = stack.stackTagCompound;
+				}
+
+				hash = 31 * hash + (items[i] == null ? 0 : items[i].hashCode());
+				hash = 31 * hash + damage[i];
+				hash = 31 * hash + amount[i];
+				hash = 31 * hash + (tags[i] == null ? 0 : tags[i].hashCode());
+			}
+		}
+
+		public GridKey copy() {
+			return new GridKey(this);
+		}
+
+		private void resize(int size) {
+			items = new Item[size];
+			damage = new int[size];
+			amount = new int[size];
+			tags = new NBTTagCompound[size];
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof GridKey)) {
+				return false;
+			}
+
+			GridKey other = (GridKey) obj;
+			return hash == other.hash
+					&& Arrays.equals(items, other.items)
+					&& Arrays.equals(damage, other.damage)
+					&& Arrays.equals(amount, other.amount)
+					&& Arrays.equals(tags, other.tags);
+		}
+	}
+}
@@ -3,14 +3,24 @@ package minetweaker.mc1710.recipes;
 import minetweaker.api.recipes.ShapedRecipe;
 import minetweaker.api.recipes.ShapelessRecipe;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import minetweaker.IUndoableAction;
 import minetweaker.MineTweakerAPI;
+import minetweaker.MineTweakerImplementationAPI;
+import minetweaker.MineTweakerImplementationAPI.ReloadEvent;
 import minetweaker.mc1710.util.MineTweakerHacks;
 import minetweaker.api.item.IIngredient;
 import minetweaker.api.item.IItemStack;
 import minetweaker.api.minecraft.MineTweakerMC;
 import static minetweaker.api.minecraft.MineTweakerMC.getIItemStack;
+import static minetweaker.api.minecraft.MineTweakerMC.getIItemStackForMatching;
 import static minetweaker.api.minecraft.MineTweakerMC.getItemStack;
 import static minetweaker.api.minecraft.MineTweakerMC.getOreDict;
 import minetweaker.api.player.IPlayer;
@@ -18,9 +28,12 @@ import minetweaker.api.recipes.ICraftingInventory;
 import minetweaker.api.recipes.ICraftingRecipe;
 import minetweaker.api.recipes.IRecipeFunction;
 import minetweaker.api.recipes.IRecipeManager;
+import minetweaker.api.recipes.IngredientPrefilter;
+import minetweaker.util.IEventHandler;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.Container;
 import net.minecraft.inventory.InventoryCrafting;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.CraftingManager;
 import net.minecraft.item.crafting.IRecipe;
@@ -37,9 +50,40 @@ public class MCRecipeManager implements IRecipeManager {
 	private final List<IRecipe> recipes;
 	private final List<ICraftingRecipe> transformerRecipes;
 
+	private Map<Item, List<Integer>> outputIndex = null;
+	private int outputIndexSize = -1;
+
+	private Set<IRecipe> pendingRemovals = null;
+
 	public MCRecipeManager() {
 		recipes = (List<IRecipe>) CraftingManager.getInstance().getRecipeList();
 		transformerRecipes = new ArrayList<ICraftingRecipe>();
+
+		// removals made while scripts are loading are collected and applied
+		// in a single pass over the recipe list once each script group has
+		// finished, so that they're rolled back together with that group
+		MineTweakerImplementationAPI.onReloadEvent(new IEventHandler<ReloadEvent>() {
+			@Override
+			public void handle(ReloadEvent event) {
+				CraftingMatchCache.invalidate();
+				beginBatchRemoval();
+			}
+		});
+		MineTweakerImplementationAPI.onScriptGroupLoaded(new IEventHandler<ReloadEvent>() {
+			@Override
+			public void handle(ReloadEvent event) {
+				endBatchRemoval();
+				beginBatchRemoval();
+			}
+		});
+		MineTweakerImplementationAPI.onPostReload(new IEventHandler<ReloadEvent>() {
+			@Override
+			public void handle(ReloadEvent event) {
+				endBatchRemoval();
+				CraftingMatchCache.invalidate();
+				IngredientPrefilter.invalidateAll();
+			}
+		});
 	}
 
 	public boolean hasTransformerRecipes() {
@@ -59,8 +103,13 @@ public class MCRecipeManager implements IRecipeManager {
 	public List<ICraftingRecipe> getRecipesFor(IIngredient ingredient) {
 		List<ICraftingRecipe> results = new ArrayList<ICraftingRecipe>();
 
-		for (IRecipe recipe : recipes) {
-			if (ingredient.matches(MineTweakerMC.getIItemStack(recipe.getRecipeOutput()))) {
+		for (int i : getCandidateIndices(ingredient)) {
+			IRecipe recipe = recipes.get(i);
+			if (isRemovalPending(recipe)) {
+				continue;
+			}
+
+			if (ingredient.matches(getIItemStackForMatching(recipe.getRecipeOutput()))) {
 				ICraftingRecipe converted = RecipeConverter.toCraftingRecipe(recipe);
 				results.add(converted);
 			}
@@ -74,6 +123,10 @@ public class MCRecipeManager implements IRecipeManager {
 		List<ICraftingRecipe> results = new ArrayList<ICraftingRecipe>();
 
 		for (IRecipe recipe : recipes) {
+			if (isRemovalPending(recipe)) {
+				continue;
+			}
+
 			ICraftingRecipe converted = RecipeConverter.toCraftingRecipe(recipe);
 			results.add(converted);
 		}
@@ -84,21 +137,22 @@ public class MCRecipeManager implements IRecipeManager {
 	@Override
 	public int remove(IIngredient output) {
 		List<IRecipe> toRemove = new ArrayList<IRecipe>();
-		List<Integer> removeIndex = new ArrayList<Integer>();
-		for (int i = 0; i < recipes.size(); i++) {
+		for (int i : getCandidateIndices(output)) {
 			IRecipe recipe = recipes.get(i);
+			if (isRemovalPending(recipe)) {
+				continue;
+			}
 
 			// certain special recipes have no predefined output. ignore those
 			// since these cannot be removed with MineTweaker scripts
 			if (recipe.getRecipeOutput() != null) {
-				if (output.matches(getIItemStack(recipe.getRecipeOutput()))) {
+				if (output.matches(getIItemStackForMatching(recipe.getRecipeOutput()))) {
 					toRemove.add(recipe);
-					removeIndex.add(i);
 				}
 			}
 		}
 
-		MineTweakerAPI.apply(new ActionRemoveRecipes(toRemove, removeIndex));
+		applyRemoval(toRemove);
 		return toRemove.size();
 	}
 
@@ -133,11 +187,13 @@ public class MCRecipeManager implements IRecipeManager {
 		}
 
 		List<IRecipe> toRemove = new ArrayList<IRecipe>();
-		List<Integer> removeIndex = new ArrayList<Integer>();
-		outer: for (int i = 0; i < recipes.size(); i++) {
+		outer: for (int i : getCandidateIndices(output)) {
 			IRecipe recipe = recipes.get(i);
 
-			if (recipe.getRecipeOutput() == null || !output.matches(getIItemStack(recipe.getRecipeOutput()))) {
+			if (isRemovalPending(recipe)) {
+				continue;
+			}
+			if (recipe.getRecipeOutput() == null || !output.matches(getIItemStackForMatching(recipe.getRecipeOutput()))) {
 				continue;
 			}
 
@@ -189,21 +245,22 @@ public class MCRecipeManager implements IRecipeManager {
 			}
 
 			toRemove.add(recipe);
-			removeIndex.add(i);
 		}
 
-		MineTweakerAPI.apply(new ActionRemoveRecipes(toRemove, removeIndex));
+		applyRemoval(toRemove);
 		return toRemove.size();
 	}
 
 	@Override
 	public int removeShapeless(IIngredient output, IIngredient[] ingredients, boolean wildcard) {
 		List<IRecipe> toRemove = new ArrayList<IRecipe>();
-		List<Integer> removeIndex = new ArrayList<Integer>();
-		outer: for (int i = 0; i < recipes.size(); i++) {
+		outer: for (int i : getCandidateIndices(output)) {
 			IRecipe recipe = recipes.get(i);
 
-			if (recipe.getRecipeOutput() == null || !output.matches(getIItemStack(recipe.getRecipeOutput()))) {
+			if (isRemovalPending(recipe)) {
+				continue;
+			}
+			if (recipe.getRecipeOutput() == null || !output.matches(getIItemStackForMatching(recipe.getRecipeOutput()))) {
 				continue;
 			}
 
@@ -258,10 +315,9 @@ public class MCRecipeManager implements IRecipeManager {
 			}
 
 			toRemove.add(recipe);
-			removeIndex.add(i);
 		}
 
-		MineTweakerAPI.apply(new ActionRemoveRecipes(toRemove, removeIndex));
+		applyRemoval(toRemove);
 		return toRemove.size();
 	}
 
@@ -304,19 +360,38 @@ public class MCRecipeManager implements IRecipeManager {
 	}
 
 	private class ActionRemoveRecipes implements IUndoableAction {
-		private final List<Integer> removingIndices;
 		private final List<IRecipe> removingRecipes;
+		private final List<IRecipe> removedRecipes;
+		private int[] removedIndices;
 
-		public ActionRemoveRecipes(List<IRecipe> recipes, List<Integer> indices) {
-			this.removingIndices = indices;
+		public ActionRemoveRecipes(List<IRecipe> recipes) {
 			this.removingRecipes = recipes;
+			this.removedRecipes = new ArrayList<IRecipe>();
 		}
 
 		@Override
 		public void apply() {
-			for (int i = removingIndices.size() - 1; i >= 0; i--) {
-				recipes.remove((int) removingIndices.get(i));
+			Set<IRecipe> removing = Collections.newSetFromMap(new IdentityHashMap<IRecipe, Boolean>());
+			removing.addAll(removingRecipes);
+
+			removedRecipes.clear();
+			removedIndices = new int[removing.size()];
+
+			// single compacting pass, remembering where each recipe used to be
+			int size = recipes.size();
+			int kept = 0;
+			for (int i = 0; i < size; i++) {
+				IRecipe recipe = recipes.get(i);
+				if (removing.remove(recipe)) {
+					removedIndices[removedRecipes.size()] = i;
+					removedRecipes.add(recipe);
+				} else {
+					recipes.set(kept++, recipe);
+				}
 			}
+			recipes.subList(kept, size).clear();
+			outputIndex = null;
+			CraftingMatchCache.invalidate();
 		}
 
 		@Override
@@ -326,20 +401,84 @@ public class MCRecipeManager implements IRecipeManager {
 
 		@Override
 		public void undo() {
-			for (int i = 0; i < removingIndices.size(); i++) {
-				int index = Math.min(recipes.size(), removingIndices.get(i));
-				recipes.add(index, removingRecipes.get(i));
+			// single merging pass, putting each recipe back at its old index
+			int restoredSize = recipes.size() + removedRecipes.size();
+			List<IRecipe> restored = new ArrayList<IRecipe>(restoredSize);
+			int current = 0;
+			int removed = 0;
+			for (int i = 0; i < restoredSize; i++) {
+				if (removed < removedRecipes.size() && (removedIndices[removed] == i || current >= recipes.size())) {
+					restored.add(removedRecipes.get(removed++));
+				} else {
+					restored.add(recipes.get(current++));
+				}
 			}
+
+			recipes.clear();
+			recipes.addAll(restored);
+			removedRecipes.clear();
+			outputIndex = null;
+			CraftingMatchCache.invalidate();
 		}
 
 		@Override
 		public String describe() {
-			return "Removing " + removingIndices.size() + " recipes";
+			return "Removing " + removingRecipes.size() + " recipes";
 		}
 
 		@Override
 		public String describeUndo() {
-			return "Restoring " + removingIndices.size() + " recipes";
+			return "Restoring " + removingRecipes.size() + " recipes";
+		}
+
+		@Override
+		public Object getOverrideKey() {
+			return null;
+		}
+	}
+
+	private class ActionQueueRemoveRecipes implements IUndoableAction {
+		private final List<IRecipe> removingRecipes;
+		private final ActionRemoveRecipes immediate;
+		private boolean queued;
+
+		public ActionQueueRemoveRecipes(List<IRecipe> recipes) {
+			this.removingRecipes = recipes;
+			this.immediate = new ActionRemoveRecipes(recipes);
+		}
+
+		@Override
+		public void apply() {
+			queued = pendingRemovals != null;
+			if (queued) {
+				pendingRemovals.addAll(removingRecipes);
+			} else {
+				immediate.apply();
+			}
+		}
+
+		@Override
+		public boolean canUndo() {
+			return true;
+		}
+
+		@Override
+		public void undo() {
+			if (!queued) {
+				immediate.undo();
+			} else if (pendingRemovals != null) {
+				pendingRemovals.removeAll(removingRecipes);
+			}
+		}
+
+		@Override
+		public String describe() {
+			return "Removing " + removingRecipes.size() + " recipes";
+		}
+
+		@Override
+		public String describeUndo() {
+			return "Restoring " + removingRecipes.size() + " recipes";
 		}
 
 		@Override
@@ -363,6 +502,8 @@ public class MCRecipeManager implements IRecipeManager {
 			if (craftingRecipe.hasTransformers()) {
 				transformerRecipes.add(craftingRecipe);
 			}
+			outputIndex = null;
+			CraftingMatchCache.invalidate();
 		}
 
 		@Override
@@ -376,6 +517,8 @@ public class MCRecipeManager implements IRecipeManager {
 			if (craftingRecipe.hasTransformers()) {
 				transformerRecipes.remove(craftingRecipe);
 			}
+			outputIndex = null;
+			CraftingMatchCache.invalidate();
 		}
 
 		@Override
@@ -400,12 +543,149 @@ public class MCRecipeManager implements IRecipeManager {
 		MineTweakerAPI.apply(new ActionAddRecipe(irecipe, recipe));
 	}
 
+	private void applyRemoval(List<IRecipe> toRemove) {
+		if (pendingRemovals == null) {
+			MineTweakerAPI.apply(new ActionRemoveRecipes(toRemove));
+		} else {
+			MineTweakerAPI.apply(new ActionQueueRemoveRecipes(toRemove));
+		}
+	}
+
+	private boolean isRemovalPending(IRecipe recipe) {
+		return pendingRemovals != null && pendingRemovals.contains(recipe);
+	}
+
+	private void beginBatchRemoval() {
+		pendingRemovals = Collections.newSetFromMap(new IdentityHashMap<IRecipe, Boolean>());
+	}
+
+	/**
+	 * Applies all removals queued since the batch was started. The queued
+	 * actions themselves stay registered so that rollback still undoes them;
+	 * the actual list modification is performed (and undone) by a single
+	 * action.
+	 */
+	private void endBatchRemoval() {
+		Set<IRecipe> pending = pendingRemovals;
+		pendingRemovals = null;
+
+		if (pending != null && !pending.isEmpty()) {
+			MineTweakerAPI.apply(new ActionRemoveRecipes(new ArrayList<IRecipe>(pending)));
+		}
+	}
+
+	/**
+	 * Determines which recipes could possibly produce the given output. Only
+	 * recipes whose output item is one of the items of the ingredient are
+	 * returned; if the ingredient cannot be narrowed down to a set of items
+	 * (such as the &lt;*&gt; wildcard), all recipe indices are returned.
+	 * 
+	 * @param output output ingredient
+	 * @return candidate recipe indices, in ascending order
+	 */
+	private int[] getCandidateIndices(IIngredient output) {
+		List<IItemStack> items = output.getItems();
+		if (items == null || items.isEmpty()) {
+			return getAllIndices();
+		}
+
+		Set<Item> outputItems = new HashSet<Item>();
+		for (IItemStack item : items) {
+			Object internal = item.getInternal();
+			if (!(internal instanceof ItemStack)) {
+				return getAllIndices();
+			}
+
+			outputItems.add(((ItemStack) internal).getItem());
+		}
+
+		boolean rebuilt = false;
+		if (outputIndex == null || outputIndexSize != recipes.size()) {
+			buildOutputIndex();
+			rebuilt = true;
+		}
+
+		int[] result = getIndexedCandidates(outputItems);
+		if (!rebuilt && !isIndexValid(result, outputItems)) {
+			// recipes were replaced by another mod without changing the count
+			buildOutputIndex();
+			result = getIndexedCandidates(outputItems);
+		}
+		return result;
+	}
+
+	private int[] getIndexedCandidates(Set<Item> outputItems) {
+		int size = 0;
+		for (Item item : outputItems) {
+			List<Integer> indices = outputIndex.get(item);
+			if (indices != null) {
+				size += indices.size();
+			}
+		}
+
+		int[] result = new int[size];
+		int offset = 0;
+		for (Item item : outputItems) {
+			List<Integer> indices = outputIndex.get(item);
+			if (indices != null) {
+				for (int index : indices) {
+					result[offset++] = index;
+				}
+			}
+		}
+
+		if (outputItems.size() > 1) {
+			Arrays.sort(result);
+		}
+		return result;
+	}
+
+	/**
+	 * Checks if the recipes at the given indices still have the output items
+	 * they were indexed for.
+	 */
+	private boolean isIndexValid(int[] indices, Set<Item> outputItems) {
+		for (int index : indices) {
+			ItemStack recipeOutput = recipes.get(index).getRecipeOutput();
+			if (recipeOutput == null || !outputItems.contains(recipeOutput.getItem())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int[] getAllIndices() {
+		int[] result = new int[recipes.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = i;
+		}
+		return result;
+	}
+
+	private void buildOutputIndex() {
+		outputIndex = new HashMap<Item, List<Integer>>();
+		for (int i = 0; i < recipes.size(); i++) {
+			ItemStack recipeOutput = recipes.get(i).getRecipeOutput();
+			if (recipeOutput == null || recipeOutput.getItem() == null) {
+				continue;
+			}
+
+			List<Integer> indices = outputIndex.get(recipeOutput.getItem());
+			if (indices == null) {
+				indices = new ArrayList<Integer>();
+				outputIndex.put(recipeOutput.getItem(), indices);
+			}
+			indices.add(i);
+		}
+		outputIndexSize = recipes.size();
+	}
+
 	private static boolean matches(Object input, IIngredient ingredient) {
 		if ((input == null) != (ingredient == null)) {
 			return false;
 		} else if (ingredient != null) {
 			if (input instanceof ItemStack) {
-				if (!ingredient.matches(getIItemStack((ItemStack) input))) {
+				if (!ingredient.matches(getIItemStackForMatching((ItemStack) input))) {
 					return false;
 				}
 			} else if (input instanceof String) {
@@ -27,11 +27,15 @@ public class ShapedRecipeAdvanced implements IRecipe {
 
 	@Override
 	public boolean matches(InventoryCrafting inventory, World world) {
-		return recipe.matches(MCCraftingInventory.get(inventory));
+		return CraftingMatchCache.matches(recipe, inventory);
 	}
 
 	@Override
 	public ItemStack getCraftingResult(InventoryCrafting inventory) {
+		if (!CraftingMatchCache.matches(recipe, inventory)) {
+			return null;
+		}
+
 		return getItemStack(recipe.getCraftingResult(MCCraftingInventory.get(inventory))).copy();
 	}
 
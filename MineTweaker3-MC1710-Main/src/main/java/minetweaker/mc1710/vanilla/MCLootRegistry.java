@@ -160,7 +160,7 @@ public class MCLootRegistry implements ILootRegistry {
 			List<WeightedRandomChestContent> contents = MineTweakerHacks.getPrivateObject(recipe, "contents");
 
 			for (WeightedRandomChestContent r : contents) {
-				if (pattern.matches(MineTweakerMC.getIItemStack(r.theItemId))) {
+				if (pattern.matches(MineTweakerMC.getIItemStackForMatching(r.theItemId))) {
 					removed.add(r);
 				}
 			}
@@ -109,7 +109,7 @@ public class MCSeedRegistry implements ISeedRegistry {
 
 			for (Object entry : SEEDS) {
 				ItemStack itemStack = MineTweakerHacks.getSeedEntrySeed(entry);
-				if (pattern.matches(MineTweakerMC.getIItemStack(itemStack))) {
+				if (pattern.matches(MineTweakerMC.getIItemStackForMatching(itemStack))) {
 					removed.add(entry);
 				}
 			}
@@ -8,28 +8,77 @@ package minetweaker.mods.ic2;
 
 import ic2.api.recipe.IRecipeInput;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import static minetweaker.api.minecraft.MineTweakerMC.getIItemStack;
+import static minetweaker.api.minecraft.MineTweakerMC.getIItemStackForMatching;
 import static minetweaker.api.minecraft.MineTweakerMC.getItemStack;
 import minetweaker.api.item.IIngredient;
 import minetweaker.api.item.IItemStack;
+import minetweaker.api.recipes.IngredientPrefilter;
+import minetweaker.mc1710.oredict.MCOreDictEntry;
+import minetweaker.mc1710.oredict.OreDictIndex;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
+import net.minecraftforge.oredict.OreDictionary;
 
 /**
  * Wrapper class for ITweakerItemStackPatterns to IC2 recipe inputs.
  * 
+ * IC2 machines check their inputs very often, so plain item stacks and ore
+ * dictionary entries are matched directly against the minecraft stack. Other
+ * ingredients (conditions, exact amounts, alternatives) are matched through a
+ * non-copying MineTweaker stack.
+ * 
  * @author Stan Hebben
  */
 public class IC2RecipeInput implements IRecipeInput {
 	private final IIngredient ingredient;
 	
+	// plain item stack: item, damage (unless any damage is accepted) and amount
+	private final Item item;
+	private final int damage;
+	private final boolean anyDamage;
+	private final int amount;
+	
+	// plain ore dictionary entry, or -1
+	private final int oreId;
+	
+	private volatile Inputs inputs = null;
+	
 	public IC2RecipeInput(IIngredient ingredient) {
 		this.ingredient = ingredient;
+		
+		ItemStack stack = ingredient instanceof IItemStack ? getItemStack((IItemStack) ingredient) : null;
+		if (stack != null && stack.getItem() != null) {
+			item = stack.getItem();
+			damage = stack.getItemDamage();
+			anyDamage = damage == OreDictionary.WILDCARD_VALUE || (!stack.getHasSubtypes() && !item.isDamageable());
+			amount = ingredient.getAmount();
+		} else {
+			item = null;
+			damage = 0;
+			anyDamage = false;
+			amount = 0;
+		}
+		
+		oreId = ingredient instanceof MCOreDictEntry ? ((MCOreDictEntry) ingredient).getId() : -1;
 	}
 
 	@Override
 	public boolean matches(ItemStack subject) {
-		return ingredient.matches(getIItemStack(subject));
+		if (subject == null || subject.getItem() == null) {
+			return false;
+		}
+		
+		if (item != null) {
+			return subject.getItem() == item
+					&& (anyDamage || subject.getItemDamage() == damage)
+					&& (amount <= 1 || subject.stackSize >= amount);
+		} else if (oreId >= 0) {
+			return OreDictIndex.contains(oreId, subject);
+		} else {
+			return ingredient.matches(getIItemStackForMatching(subject));
+		}
 	}
 
 	@Override
@@ -39,11 +88,13 @@ public class IC2RecipeInput implements IRecipeInput {
 
 	@Override
 	public List<ItemStack> getInputs() {
-		List<ItemStack> items = new ArrayList<ItemStack>();
-		for (IItemStack item : ingredient.getItems()) {
-			items.add(getItemStack(item));
+		Inputs current = inputs;
+		int generation = IngredientPrefilter.getGeneration();
+		if (current == null || current.generation != generation) {
+			current = new Inputs(generation, ingredient);
+			inputs = current;
 		}
-		return items;
+		return current.items;
 	}
 
 	@Override
@@ -67,4 +118,19 @@ public class IC2RecipeInput implements IRecipeInput {
 		}
 		return true;
 	}
+
+	private static class Inputs {
+		private final int generation;
+		private final List<ItemStack> items;
+		
+		public Inputs(int generation, IIngredient ingredient) {
+			this.generation = generation;
+			
+			List<ItemStack> result = new ArrayList<ItemStack>();
+			for (IItemStack item : ingredient.getItems()) {
+				result.add(getItemStack(item));
+			}
+			items = Collections.unmodifiableList(result);
+		}
+	}
 }
@@ -3,12 +3,14 @@ package minetweaker.api.minecraft;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import minetweaker.MineTweakerAPI;
 import minetweaker.api.block.IBlock;
 import minetweaker.api.block.IBlockDefinition;
 import minetweaker.api.data.IData;
 import minetweaker.api.item.IIngredient;
+import minetweaker.api.item.IItemDefinition;
 import minetweaker.api.item.IItemStack;
 import minetweaker.api.item.IngredientUnknown;
 import minetweaker.api.liquid.ILiquidStack;
@@ -19,7 +21,9 @@ import minetweaker.api.world.IDimension;
 import minetweaker.mc18.block.MCBlockDefinition;
 import minetweaker.mc18.block.MCSpecificBlock;
 import minetweaker.mc18.block.MCWorldBlock;
+import minetweaker.mc18.brackets.ItemBracketHandler;
 import minetweaker.mc18.data.NBTConverter;
+import minetweaker.mc18.item.MCItemDefinition;
 import minetweaker.mc18.item.MCItemStack;
 import minetweaker.mc18.liquid.MCLiquidStack;
 import minetweaker.mc18.oredict.MCOreDictEntry;
@@ -45,6 +49,7 @@ import net.minecraftforge.oredict.OreDictionary;
  */
 public class MineTweakerMC {
 	private static final Map<Block, MCBlockDefinition> blockDefinitions = new HashMap<Block, MCBlockDefinition>();
+	private static final Map<Item, IItemDefinition> itemDefinitions = new ConcurrentHashMap<Item, IItemDefinition>();
 	public static final IBiome[] biomes;
 
 	static {
@@ -106,6 +111,25 @@ public class MineTweakerMC {
 		return new MCItemStack(item);
 	}
 
+	/**
+	 * Returns the item definition for the given item. Definitions are cached
+	 * per item.
+	 * 
+	 * @param item minecraft item
+	 * @return minetweaker item definition
+	 */
+	public static IItemDefinition getItemDefinition(Item item) {
+		if (item == null)
+			return null;
+
+		IItemDefinition result = itemDefinitions.get(item);
+		if (result == null) {
+			result = new MCItemDefinition(ItemBracketHandler.getStringFromItem(item), item);
+			itemDefinitions.put(item, result);
+		}
+		return result;
+	}
+
 	/**
 	 * Constructs an item stack with wildcard size.
 	 * 
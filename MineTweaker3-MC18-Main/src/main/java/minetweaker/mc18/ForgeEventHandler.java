@@ -10,11 +10,13 @@ import minetweaker.MineTweakerImplementationAPI;
 import minetweaker.api.formatting.IFormattedText;
 import minetweaker.api.item.IItemStack;
 import minetweaker.api.minecraft.MineTweakerMC;
+import minetweaker.api.recipes.IngredientPrefilter;
 import minetweaker.api.tooltip.IngredientTooltips;
 import minetweaker.mc18.formatting.IMCFormattedString;
 import net.minecraftforge.event.entity.player.ItemTooltipEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.oredict.OreDictionary;
 
 import org.lwjgl.input.Keyboard;
 
@@ -25,6 +27,10 @@ import org.lwjgl.input.Keyboard;
 public class ForgeEventHandler {
 	@SubscribeEvent
 	public void onPlayerInteract(PlayerInteractEvent ev) {
+		if (!MineTweakerImplementationAPI.events.hasPlayerInteract()) {
+			return;
+		}
+
 		minetweaker.api.event.PlayerInteractEvent event = new minetweaker.api.event.PlayerInteractEvent(
 				MineTweakerMC.getIPlayer(ev.entityPlayer),
 				MineTweakerMC.getDimension(ev.world),
@@ -37,6 +43,10 @@ public class ForgeEventHandler {
 
 	@SubscribeEvent
 	public void onItemTooltip(ItemTooltipEvent ev) {
+		if (ev.itemStack == null || !IngredientTooltips.hasTooltips(MineTweakerMC.getItemDefinition(ev.itemStack.getItem()))) {
+			return;
+		}
+
 		IItemStack itemStack = MineTweakerMC.getIItemStack(ev.itemStack);
 		for (IFormattedText tooltip : IngredientTooltips.getTooltips(itemStack)) {
 			ev.toolTip.add(((IMCFormattedString) tooltip).getTooltipString());
@@ -48,4 +58,10 @@ public class ForgeEventHandler {
 			}
 		}
 	}
+
+	@SubscribeEvent
+	public void onOreRegister(OreDictionary.OreRegisterEvent ev) {
+		// ores registered by other mods after the filters were built
+		IngredientPrefilter.invalidateAll();
+	}
 }
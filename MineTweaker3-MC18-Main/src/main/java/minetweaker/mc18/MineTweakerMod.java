@@ -11,6 +11,7 @@ import java.io.File;
 import minetweaker.MineTweakerAPI;
 import minetweaker.MineTweakerImplementationAPI;
 import minetweaker.api.logger.FileLogger;
+import minetweaker.api.logger.LogLevel;
 import minetweaker.mc18.brackets.ItemBracketHandler;
 import minetweaker.mc18.client.MCClient;
 import minetweaker.mc18.formatting.MCFormatter;
@@ -101,7 +102,8 @@ public class MineTweakerMod {
 				new MCFormatter(),
 				new MCVanilla());
 
-		MineTweakerImplementationAPI.logger.addLogger(new FileLogger(new File("minetweaker.log")));
+		MineTweakerImplementationAPI.logger.addLogger(new FileLogger(new File("minetweaker.log"), true));
+		MineTweakerImplementationAPI.logger.setLogLevel(LogLevel.parse(System.getProperty("minetweaker.logLevel"), LogLevel.INFO));
 		MineTweakerImplementationAPI.platform = MCPlatformFunctions.INSTANCE;
 
 		File globalDir = new File("scripts");
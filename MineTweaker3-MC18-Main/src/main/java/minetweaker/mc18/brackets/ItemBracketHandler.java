@@ -8,10 +8,14 @@ package minetweaker.mc18.brackets;
 
 import static minetweaker.api.minecraft.MineTweakerMC.getIItemStackWildcardSize;
 
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
-import minetweaker.IBracketHandler;
+import minetweaker.IStatefulBracketHandler;
 import minetweaker.MineTweakerAPI;
 import minetweaker.annotations.BracketHandler;
 import minetweaker.api.item.IItemStack;
@@ -23,6 +27,7 @@ import net.minecraftforge.oredict.OreDictionary;
 import stanhebben.zenscript.ZenTokener;
 import stanhebben.zenscript.compiler.IEnvironmentGlobal;
 import stanhebben.zenscript.expression.ExpressionCallStatic;
+import stanhebben.zenscript.expression.ExpressionClassConstant;
 import stanhebben.zenscript.expression.ExpressionInt;
 import stanhebben.zenscript.expression.ExpressionString;
 import stanhebben.zenscript.expression.partial.IPartialExpression;
@@ -40,7 +45,7 @@ import com.google.common.collect.HashBiMap;
  * @author Stan
  */
 @BracketHandler(priority = 100)
-public class ItemBracketHandler implements IBracketHandler {
+public class ItemBracketHandler implements IStatefulBracketHandler {
 	private static final BiMap<String, Item> itemNames = HashBiMap.create();
 	
 	@SuppressWarnings("unchecked")
@@ -111,6 +116,21 @@ public class ItemBracketHandler implements IBracketHandler {
 		return find(environment, tokens, fromIndex, toIndex, meta);
 	}
 
+	@Override
+	public void updateFingerprint(MessageDigest digest) {
+		List<String> names = new ArrayList<String>(itemNames.keySet());
+		Collections.sort(names);
+
+		try {
+			for (String name : names) {
+				digest.update(name.getBytes("UTF-8"));
+				digest.update((byte) 0);
+			}
+		} catch (UnsupportedEncodingException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
 	private IZenSymbol find(IEnvironmentGlobal environment, List<Token> tokens, int startIndex, int endIndex, int meta) {
 		StringBuilder valueBuilder = new StringBuilder();
 		for (int i = startIndex; i < endIndex; i++) {
@@ -139,12 +159,15 @@ public class ItemBracketHandler implements IBracketHandler {
 
 		@Override
 		public IPartialExpression instance(ZenPosition position) {
-			return new ExpressionCallStatic(
+			return new ExpressionClassConstant(
 					position,
-					environment,
-					method,
-					new ExpressionString(position, name),
-					new ExpressionInt(position, meta, ZenType.INT));
+					"item:" + name + ":" + meta,
+					new ExpressionCallStatic(
+							position,
+							environment,
+							method,
+							new ExpressionString(position, name),
+							new ExpressionInt(position, meta, ZenType.INT)));
 		}
 	}
 }
@@ -15,6 +15,7 @@ import minetweaker.mc18.oredict.MCOreDictEntry;
 import minetweaker.runtime.GlobalRegistry;
 import stanhebben.zenscript.compiler.IEnvironmentGlobal;
 import stanhebben.zenscript.expression.ExpressionCallStatic;
+import stanhebben.zenscript.expression.ExpressionClassConstant;
 import stanhebben.zenscript.expression.ExpressionString;
 import stanhebben.zenscript.expression.partial.IPartialExpression;
 import stanhebben.zenscript.parser.Token;
@@ -71,11 +72,14 @@ public class OreBracketHandler implements IBracketHandler {
 					"getOre",
 					String.class);
 
-			return new ExpressionCallStatic(
+			return new ExpressionClassConstant(
 					position,
-					environment,
-					method,
-					new ExpressionString(position, name));
+					"ore:" + name,
+					new ExpressionCallStatic(
+							position,
+							environment,
+							method,
+							new ExpressionString(position, name)));
 		}
 	}
 }
@@ -25,6 +25,7 @@ import minetweaker.api.item.IngredientItem;
 import minetweaker.api.item.IngredientOr;
 import minetweaker.api.item.WeightedItemStack;
 import minetweaker.api.liquid.ILiquidStack;
+import minetweaker.api.minecraft.MineTweakerMC;
 import minetweaker.api.oredict.IOreDictEntry;
 import minetweaker.api.player.IPlayer;
 import minetweaker.mc18.actions.SetBlockHardnessAction;
@@ -87,7 +88,7 @@ public class MCItemStack implements IItemStack {
 
 	@Override
 	public IItemDefinition getDefinition() {
-		return new MCItemDefinition(ItemBracketHandler.getStringFromItem(stack.getItem()), stack.getItem());
+		return MineTweakerMC.getItemDefinition(stack.getItem());
 	}
 
 	@Override
@@ -366,7 +367,7 @@ public class MCItemStack implements IItemStack {
 			return false;
 		if (this.stack.stackSize != other.stack.stackSize)
 			return false;
-		if (this.stack.getTagCompound() != other.stack.getTagCompound() && (this.stack == null || this.stack.equals(other.stack)))
+		if (this.stack.getTagCompound() != other.stack.getTagCompound() && (this.stack.getTagCompound() == null || !this.stack.getTagCompound().equals(other.stack.getTagCompound())))
 			return false;
 		if (this.wildcardSize != other.wildcardSize)
 			return false;
@@ -25,6 +25,7 @@ import minetweaker.api.liquid.ILiquidStack;
 import minetweaker.api.oredict.IOreDictEntry;
 import minetweaker.api.oredict.IngredientOreDict;
 import minetweaker.api.player.IPlayer;
+import minetweaker.api.recipes.IngredientPrefilter;
 import minetweaker.mc18.util.MineTweakerHacks;
 import minetweaker.util.ArrayUtil;
 import net.minecraft.item.ItemStack;
@@ -234,6 +235,7 @@ public class MCOreDictEntry implements IOreDictEntry {
 		@Override
 		public void apply() {
 			OreDictionary.registerOre(id, item);
+			IngredientPrefilter.invalidateAll();
 		}
 
 		@Override
@@ -245,6 +247,7 @@ public class MCOreDictEntry implements IOreDictEntry {
 		public void undo() {
 			int oreId = OreDictionary.getOreID(id);
 			OREDICT_CONTENTS.get(oreId).remove(item);
+			IngredientPrefilter.invalidateAll();
 		}
 
 		@Override
@@ -285,6 +288,7 @@ public class MCOreDictEntry implements IOreDictEntry {
 			int targetOreId = OreDictionary.getOreID(idTarget);
 			OREDICT_CONTENTS.set(targetOreId, OREDICT_CONTENTS.get(sourceOreId));
 			OREDICT_CONTENTS_UN.set(targetOreId, OREDICT_CONTENTS_UN.get(sourceOreId));
+			IngredientPrefilter.invalidateAll();
 		}
 
 		@Override
@@ -297,6 +301,7 @@ public class MCOreDictEntry implements IOreDictEntry {
 			int targetOreId = OreDictionary.getOreID(idTarget);
 			OREDICT_CONTENTS.set(targetOreId, targetCopy);
 			OREDICT_CONTENTS_UN.set(targetOreId, targetCopyUn);
+			IngredientPrefilter.invalidateAll();
 		}
 
 		@Override
@@ -328,6 +333,7 @@ public class MCOreDictEntry implements IOreDictEntry {
 		public void apply() {
 			int oreId = OreDictionary.getOreID(id);
 			OREDICT_CONTENTS.get(oreId).remove(item);
+			IngredientPrefilter.invalidateAll();
 		}
 
 		@Override
@@ -339,6 +345,7 @@ public class MCOreDictEntry implements IOreDictEntry {
 		public void undo() {
 			int oreId = OreDictionary.getOreID(id);
 			OREDICT_CONTENTS.get(oreId).add(item);
+			IngredientPrefilter.invalidateAll();
 		}
 
 		@Override
@@ -371,6 +378,7 @@ public class MCOreDictEntry implements IOreDictEntry {
 			for (ItemStack stack : OreDictionary.getOres(idSource)) {
 				OreDictionary.registerOre(idTarget, stack);
 			}
+			IngredientPrefilter.invalidateAll();
 		}
 
 		@Override
@@ -384,6 +392,7 @@ public class MCOreDictEntry implements IOreDictEntry {
 			for (ItemStack stack : OreDictionary.getOres(idSource)) {
 				OREDICT_CONTENTS.get(targetOreId).remove(stack);
 			}
+			IngredientPrefilter.invalidateAll();
 		}
 
 		@Override
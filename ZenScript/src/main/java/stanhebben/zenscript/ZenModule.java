@@ -17,6 +17,7 @@ import java.util.zip.ZipFile;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
+import stanhebben.zenscript.compiler.ClassConstants;
 import stanhebben.zenscript.compiler.ClassNameGenerator;
 import stanhebben.zenscript.compiler.EnvironmentClass;
 import stanhebben.zenscript.compiler.EnvironmentGlobal;
@@ -25,12 +26,17 @@ import stanhebben.zenscript.compiler.IEnvironmentGlobal;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
 import stanhebben.zenscript.definitions.ParsedFunction;
 import stanhebben.zenscript.definitions.ParsedFunctionArgument;
+import stanhebben.zenscript.interpreter.EnvironmentInterpreter;
+import stanhebben.zenscript.interpreter.IInterpretedStatement;
+import stanhebben.zenscript.interpreter.ScriptBody;
 import stanhebben.zenscript.statements.Statement;
 import stanhebben.zenscript.statements.StatementReturn;
 import stanhebben.zenscript.symbols.SymbolArgument;
 import stanhebben.zenscript.symbols.SymbolZenStaticMethod;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.util.MethodOutput;
+import static stanhebben.zenscript.util.ZenTypeUtil.CLASS_VERSION;
+import static stanhebben.zenscript.util.ZenTypeUtil.createClassWriter;
 import static stanhebben.zenscript.util.ZenTypeUtil.internal;
 
 /**
@@ -44,6 +50,8 @@ import static stanhebben.zenscript.util.ZenTypeUtil.internal;
  * @author Stan Hebben
  */
 public class ZenModule {
+	private static final int CHUNK_SIZE = 4000;
+
 	/**
 	 * Compiles a set of parsed files into a module.
 	 * 
@@ -53,10 +61,34 @@ public class ZenModule {
 	 * @param debug enable debug mode (outputs classes to generated directory)
 	 */
 	public static void compileScripts(String mainFileName, List<ZenParsedFile> scripts, IEnvironmentGlobal environmentGlobal, boolean debug) {
-		ClassWriter clsMain = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+		compileScripts(mainFileName, scripts, environmentGlobal, debug, false);
+	}
+
+	/**
+	 * Compiles a set of parsed files into a module. If interpret is set, the
+	 * statements of each script are prepared for the interpreter instead of
+	 * being compiled into a __script__ method; the script still gets compiled
+	 * if it contains code the interpreter doesn't support. Functions are always
+	 * compiled.
+	 * 
+	 * Top-level statements are executed only once, so for most scripts
+	 * interpreting them is cheaper than generating, loading and verifying
+	 * their bytecode.
+	 * 
+	 * @param mainFileName main filename (used for debug info)
+	 * @param scripts scripts to compile
+	 * @param environmentGlobal global compile environment
+	 * @param debug enable debug mode (outputs classes to generated directory)
+	 * @param interpret interpret script statements where possible
+	 * @return script bodies, in execution order
+	 */
+	public static List<ScriptBody> compileScripts(String mainFileName, List<ZenParsedFile> scripts, IEnvironmentGlobal environmentGlobal, boolean debug, boolean interpret) {
+		List<ScriptBody> bodies = new ArrayList<ScriptBody>();
+
+		ClassWriter clsMain = createClassWriter();
 		clsMain.visitSource(mainFileName, null);
 
-		clsMain.visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC, "__ZenMain__", null, internal(Object.class), new String[] { internal(Runnable.class) });
+		clsMain.visit(CLASS_VERSION, Opcodes.ACC_PUBLIC, "__ZenMain__", null, internal(Object.class), new String[] { internal(Runnable.class) });
 		MethodOutput mainRun = new MethodOutput(clsMain, Opcodes.ACC_PUBLIC, "run", "()V", null, null);
 		mainRun.start();
 
@@ -73,11 +105,12 @@ public class ZenModule {
 		}
 
 		for (ZenParsedFile script : scripts) {
-			ClassWriter clsScript = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+			ClassWriter clsScript = createClassWriter();
 			clsScript.visitSource(script.getFileName(), null);
-			EnvironmentClass environmentScript = new EnvironmentClass(clsScript, script.getEnvironment());
+			ClassConstants constants = new ClassConstants(script.getClassName().replace('.', '/'));
+			EnvironmentClass environmentScript = new EnvironmentClass(clsScript, script.getEnvironment(), constants);
 
-			clsScript.visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC, script.getClassName().replace('.', '/'), null, internal(Object.class), new String[] { internal(Runnable.class) });
+			clsScript.visit(CLASS_VERSION, Opcodes.ACC_PUBLIC, script.getClassName().replace('.', '/'), null, internal(Object.class), new String[] { internal(Runnable.class) });
 
 			for (Map.Entry<String, ParsedFunction> function : script.getFunctions().entrySet()) {
 				ParsedFunction fn = function.getValue();
@@ -116,19 +149,17 @@ public class ZenModule {
 			}
 
 			if (script.getStatements().size() > 0) {
-				MethodOutput scriptOutput = new MethodOutput(clsScript, Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "__script__", "()V", null, null);
-				IEnvironmentMethod functionMethod = new EnvironmentMethod(scriptOutput, environmentScript);
-				// scriptOutput.enableDebug();
-				scriptOutput.start();
-				for (Statement statement : script.getStatements()) {
-					statement.compile(functionMethod);
+				ScriptBody body = interpret ? prepareScript(environmentScript, script) : null;
+				if (body == null) {
+					compileScriptMethod(clsScript, environmentScript, script);
+					mainRun.invokeStatic(script.getClassName().replace('.', '/'), "__script__", "()V");
+					body = new ScriptBody(script.getClassName());
 				}
-				scriptOutput.ret();
-				scriptOutput.end();
-
-				mainRun.invokeStatic(script.getClassName().replace('.', '/'), "__script__", "()V");
+				bodies.add(body);
 			}
 
+			constants.compile(clsScript, environmentScript);
+
 			clsScript.visitEnd();
 			environmentGlobal.putClass(script.getClassName(), clsScript.toByteArray());
 		}
@@ -168,6 +199,91 @@ public class ZenModule {
 		}
 
 		environmentGlobal.putClass("__ZenMain__", clsMain.toByteArray());
+		return bodies;
+	}
+
+	/**
+	 * Prepares the statements of a script for the interpreter.
+	 * 
+	 * @param environmentScript script class environment
+	 * @param script script to prepare
+	 * @return interpreted script body, or null if the script must be compiled
+	 */
+	private static ScriptBody prepareScript(EnvironmentClass environmentScript, ZenParsedFile script) {
+		EnvironmentInterpreter environment = new EnvironmentInterpreter(environmentScript);
+		List<Statement> statements = script.getStatements();
+
+		IInterpretedStatement[] prepared = new IInterpretedStatement[statements.size()];
+		for (int i = 0; i < prepared.length; i++) {
+			prepared[i] = statements.get(i).prepare(environment);
+			if (prepared[i] == null) {
+				return null;
+			}
+		}
+
+		environment.commit();
+		return new ScriptBody(script.getClassName(), prepared, environment.getNumLocals());
+	}
+
+	/**
+	 * Compiles the statements of a script into its __script__ method.
+	 * 
+	 * HotSpot doesn't compile methods larger than 8000 bytes, so large scripts
+	 * are split into chunks: whenever the code of a chunk exceeds CHUNK_SIZE,
+	 * the following statements go into a new method, and __script__ calls all
+	 * chunks in order. Local variables that are still in scope at the end of a
+	 * chunk are moved to static fields. Scripts containing a return statement
+	 * are not split, since returning from a chunk wouldn't end the script.
+	 * 
+	 * @param clsScript script class output
+	 * @param environmentScript script class environment
+	 * @param script script to compile
+	 */
+	private static void compileScriptMethod(ClassWriter clsScript, EnvironmentClass environmentScript, ZenParsedFile script) {
+		String className = script.getClassName().replace('.', '/');
+		List<Statement> statements = script.getStatements();
+
+		boolean canSplit = true;
+		for (Statement statement : statements) {
+			if (statement.containsReturn()) {
+				canSplit = false;
+				break;
+			}
+		}
+
+		MethodOutput scriptOutput = new MethodOutput(clsScript, Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "__script__", "()V", null, null);
+		EnvironmentMethod scriptMethod = new EnvironmentMethod(scriptOutput, environmentScript);
+		// scriptOutput.enableDebug();
+		scriptOutput.start();
+
+		MethodOutput chunkOutput = scriptOutput;
+		EnvironmentMethod chunkMethod = scriptMethod;
+		int chunks = 0;
+		for (Statement statement : statements) {
+			if (canSplit && chunkOutput.getCodeSize() > CHUNK_SIZE) {
+				chunkMethod.promoteLocals(className);
+				if (chunkOutput != scriptOutput) {
+					chunkOutput.ret();
+					chunkOutput.end();
+				}
+
+				String chunkName = "__script" + (++chunks) + "__";
+				scriptOutput.invokeStatic(className, chunkName, "()V");
+				chunkOutput = new MethodOutput(clsScript, Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC, chunkName, "()V", null, null);
+				chunkMethod = new EnvironmentMethod(chunkOutput, chunkMethod);
+				chunkOutput.start();
+			}
+
+			statement.compile(chunkMethod);
+		}
+
+		if (chunkOutput != scriptOutput) {
+			chunkOutput.ret();
+			chunkOutput.end();
+		}
+
+		scriptOutput.ret();
+		scriptOutput.end();
 	}
 
 	/**
@@ -268,6 +384,7 @@ public class ZenModule {
 	}
 
 	private final Map<String, byte[]> classes;
+	private final List<ScriptBody> bodies;
 	private final MyClassLoader classLoader;
 
 	/**
@@ -277,7 +394,20 @@ public class ZenModule {
 	 * @param classes
 	 */
 	public ZenModule(Map<String, byte[]> classes, ClassLoader baseClassLoader) {
+		this(classes, null, baseClassLoader);
+	}
+
+	/**
+	 * Constructs a module for the given set of classes and script bodies, as
+	 * returned by compileScripts. Mostly intended for internal use.
+	 * 
+	 * @param classes
+	 * @param bodies script bodies, or null to run the compiled main class
+	 * @param baseClassLoader
+	 */
+	public ZenModule(Map<String, byte[]> classes, List<ScriptBody> bodies, ClassLoader baseClassLoader) {
 		this.classes = classes;
+		this.bodies = bodies;
 		classLoader = new MyClassLoader(baseClassLoader);
 	}
 
@@ -288,6 +418,17 @@ public class ZenModule {
 	 * @return main runnable
 	 */
 	public Runnable getMain() {
+		if (bodies != null) {
+			return new Runnable() {
+				@Override
+				public void run() {
+					for (ScriptBody body : bodies) {
+						body.run(classLoader);
+					}
+				}
+			};
+		}
+
 		try {
 			return (Runnable) classLoader.loadClass("__ZenMain__").newInstance();
 		} catch (InstantiationException e) {
@@ -1,8 +1,13 @@
 package stanhebben.zenscript;
 
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
-import java.io.StringReader;
+import java.util.Arrays;
 import java.util.HashMap;
 import stanhebben.zenscript.parser.CompiledDFA;
 import stanhebben.zenscript.parser.NFA;
@@ -196,7 +201,8 @@ public class ZenTokener extends TokenStream {
 			T_NOT,
 			T_DOLLAR
 	};
-	private static final CompiledDFA DFA = new NFA(REGEXPS, FINALS).toDFA().optimize().compile();
+	private static final String DFA_RESOURCE = "ZenTokener.dfa";
+	private static final CompiledDFA DFA = loadDFA();
 
 	static {
 		KEYWORDS = new HashMap<String, Integer>();
@@ -252,7 +258,19 @@ public class ZenTokener extends TokenStream {
 	 * @throws IOException shouldn't happen
 	 */
 	public ZenTokener(String contents, IZenCompileEnvironment environment) throws IOException {
-		super(new StringReader(contents), DFA);
+		super(contents, DFA);
+
+		this.environment = environment;
+	}
+
+	/**
+	 * Constructs a tokener from the given characters.
+	 * 
+	 * @param contents file contents
+	 * @param environment compile environment
+	 */
+	public ZenTokener(char[] contents, IZenCompileEnvironment environment) {
+		super(contents, DFA);
 
 		this.environment = environment;
 	}
@@ -279,4 +297,60 @@ public class ZenTokener extends TokenStream {
 		}
 		return token;
 	}
+
+	// ######################
+	// ### Static methods ###
+	// ######################
+
+	/**
+	 * Writes the precompiled DFA resource. Must be run whenever the token
+	 * definitions change; until then, the outdated resource is ignored and the
+	 * DFA is compiled on startup.
+	 * 
+	 * @param args output file
+	 * @throws IOException if the file could not be written
+	 */
+	public static void main(String[] args) throws IOException {
+		int[] definition = compileDFA().toArray();
+
+		DataOutputStream output = new DataOutputStream(new FileOutputStream(args[0]));
+		output.writeInt(getDefinitionHash());
+		output.writeInt(definition.length);
+		for (int value : definition) {
+			output.writeInt(value);
+		}
+		output.close();
+	}
+
+	private static CompiledDFA loadDFA() {
+		InputStream input = ZenTokener.class.getResourceAsStream(DFA_RESOURCE);
+		if (input != null) {
+			try {
+				DataInputStream dataInput = new DataInputStream(new BufferedInputStream(input));
+				try {
+					if (dataInput.readInt() == getDefinitionHash()) {
+						int[] definition = new int[dataInput.readInt()];
+						for (int i = 0; i < definition.length; i++) {
+							definition[i] = dataInput.readInt();
+						}
+						return new CompiledDFA(definition);
+					}
+				} finally {
+					dataInput.close();
+				}
+			} catch (IOException ex) {
+				// compile instead
+			}
+		}
+
+		return compileDFA();
+	}
+
+	private static CompiledDFA compileDFA() {
+		return new NFA(REGEXPS, FINALS).toDFA().optimize().compile();
+	}
+
+	private static int getDefinitionHash() {
+		return 31 * Arrays.hashCode(REGEXPS) + Arrays.hashCode(FINALS);
+	}
 }
@@ -0,0 +1,166 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+
+package stanhebben.zenscript.compiler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Opcodes;
+import stanhebben.zenscript.expression.Expression;
+import stanhebben.zenscript.util.MethodOutput;
+
+/**
+ * Keeps the constant values of a generated class. Each distinct constant is
+ * stored in a static final field, which is initialized once in the class
+ * initializer, so the value doesn't need to be evaluated again every time the
+ * code using it runs.
+ *
+ * @author Stan Hebben
+ */
+public class ClassConstants {
+	private final String className;
+	private final Map<String, Integer> indices = new HashMap<String, Integer>();
+	private final List<Expression> values = new ArrayList<Expression>();
+	private boolean initializing = false;
+	private int initialized = 0;
+
+	/**
+	 * Creates a constant pool for the given class.
+	 *
+	 * @param className internal class name
+	 */
+	public ClassConstants(String className) {
+		this.className = className;
+	}
+
+	/**
+	 * Outputs code to load the given constant. Values with the same key are
+	 * considered equal and share the same field.
+	 *
+	 * @param key constant key
+	 * @param value constant value
+	 * @param output method output
+	 */
+	public void load(String key, Expression value, MethodOutput output) {
+		output.getStaticField(className, getField(key, value), getDescriptor(values.get(indices.get(key))));
+	}
+
+	/**
+	 * Retrieves the field containing the given constant, without generating
+	 * code to load it. Used by the interpreter, which reads the field
+	 * reflectively.
+	 *
+	 * @param key constant key
+	 * @param value constant value
+	 * @return field name
+	 */
+	public String getField(String key, Expression value) {
+		Integer index = indices.get(key);
+		if (index == null) {
+			index = values.size();
+			indices.put(key, index);
+			values.add(value);
+		}
+
+		return getFieldName(index);
+	}
+
+	/**
+	 * Returns the internal name of the class containing the constants.
+	 *
+	 * @return internal class name
+	 */
+	public String getClassName() {
+		return className;
+	}
+
+	/**
+	 * Outputs code to load the given constant, stored in a field of its own.
+	 *
+	 * @param value constant value
+	 * @param output method output
+	 */
+	public void load(Expression value, MethodOutput output) {
+		int index = values.size();
+		values.add(value);
+
+		output.getStaticField(className, getFieldName(index), getDescriptor(value));
+	}
+
+	/**
+	 * Checks if the class initializer is being compiled. Constants used by
+	 * other constants are evaluated in place while initializing, unless they
+	 * have been initialized already.
+	 *
+	 * @return true if the class initializer is being compiled
+	 */
+	public boolean isInitializing() {
+		return initializing;
+	}
+
+	/**
+	 * Checks if the constant with the given key can be loaded from its field.
+	 * This is always the case, except while compiling the class initializer.
+	 *
+	 * @param key constant key
+	 * @return true if the constant can be loaded
+	 */
+	public boolean canLoad(String key) {
+		if (!initializing) {
+			return true;
+		}
+
+		Integer index = indices.get(key);
+		return index != null && index < initialized;
+	}
+
+	/**
+	 * Outputs the constant fields and the class initializer. Must be called
+	 * after all code of the class has been compiled.
+	 *
+	 * @param classOutput class output
+	 * @param environment class environment
+	 */
+	public void compile(ClassVisitor classOutput, IEnvironmentClass environment) {
+		if (values.isEmpty()) {
+			return;
+		}
+
+		for (int i = 0; i < values.size(); i++) {
+			classOutput.visitField(
+					Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL,
+					getFieldName(i),
+					getDescriptor(values.get(i)),
+					null,
+					null).visitEnd();
+		}
+
+		MethodOutput output = new MethodOutput(classOutput, Opcodes.ACC_STATIC, "<clinit>", "()V", null, null);
+		IEnvironmentMethod environmentMethod = new EnvironmentMethod(output, environment);
+
+		initializing = true;
+		output.start();
+		for (int i = 0; i < values.size(); i++) {
+			values.get(i).compile(true, environmentMethod);
+			output.putStaticField(className, getFieldName(i), getDescriptor(values.get(i)));
+			initialized = i + 1;
+		}
+		output.ret();
+		output.end();
+		initializing = false;
+	}
+
+	private static String getFieldName(int index) {
+		return "__constant" + index + "__";
+	}
+
+	private static String getDescriptor(Expression value) {
+		return value.getType().toASMType().getDescriptor();
+	}
+}
@@ -26,11 +26,26 @@ public class EnvironmentClass implements IEnvironmentClass {
 	private final ClassVisitor output;
 	private final IEnvironmentGlobal global;
 	private final Map<String, IZenSymbol> local;
+	private final ClassConstants constants;
 
 	public EnvironmentClass(ClassVisitor output, IEnvironmentGlobal global) {
+		this(output, global, null);
+	}
+
+	/**
+	 * Creates a class environment. If constants are given, constant values
+	 * used by code in this class (or in classes generated while compiling this
+	 * class) are stored in the class.
+	 * 
+	 * @param output class output
+	 * @param global global environment
+	 * @param constants class constants, or null
+	 */
+	public EnvironmentClass(ClassVisitor output, IEnvironmentGlobal global, ClassConstants constants) {
 		this.output = output;
 		this.global = global;
 		this.local = new HashMap<String, IZenSymbol>();
+		this.constants = constants;
 	}
 
 	@Override
@@ -38,6 +53,15 @@ public class EnvironmentClass implements IEnvironmentClass {
 		return output;
 	}
 
+	@Override
+	public ClassConstants getConstants() {
+		if (constants == null && global instanceof IEnvironmentClass) {
+			return ((IEnvironmentClass) global).getConstants();
+		}
+
+		return constants;
+	}
+
 	@Override
 	public ZenType getType(Type type) {
 		return global.getType(type);
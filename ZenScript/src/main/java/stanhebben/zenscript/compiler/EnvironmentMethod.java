@@ -11,6 +11,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Opcodes;
 import stanhebben.zenscript.TypeExpansion;
 import stanhebben.zenscript.expression.partial.IPartialExpression;
 import stanhebben.zenscript.IZenCompileEnvironment;
@@ -37,6 +38,52 @@ public class EnvironmentMethod implements IEnvironmentMethod {
 		this.local = new HashMap<String, IZenSymbol>();
 	}
 
+	/**
+	 * Creates an environment for a method continuing another method. All
+	 * values defined in the previous method remain visible; its local
+	 * variables must have been promoted to fields first.
+	 *
+	 * @param output method output
+	 * @param previous environment of the previous method
+	 */
+	public EnvironmentMethod(MethodOutput output, EnvironmentMethod previous) {
+		this.output = output;
+		this.locals = new HashMap<SymbolLocal, Integer>();
+		this.environment = previous.environment;
+		this.local = new HashMap<String, IZenSymbol>(previous.local);
+	}
+
+	/**
+	 * Moves all local variables defined in this environment to static fields
+	 * of the given class, so they can be accessed from other methods. Outputs
+	 * code to copy their current values to these fields.
+	 *
+	 * @param className internal name of the class being compiled
+	 */
+	public void promoteLocals(String className) {
+		for (Map.Entry<String, IZenSymbol> entry : local.entrySet()) {
+			if (!(entry.getValue() instanceof SymbolLocal)) {
+				continue;
+			}
+
+			SymbolLocal variable = (SymbolLocal) entry.getValue();
+			if (variable.isPromoted()) {
+				continue;
+			}
+
+			String fieldName = "__local_" + entry.getKey() + "__";
+			String descriptor = variable.getType().toASMType().getDescriptor();
+			getClassOutput().visitField(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, fieldName, descriptor, null, null).visitEnd();
+
+			if (locals.containsKey(variable)) {
+				output.load(variable.getType().toASMType(), locals.get(variable));
+				output.putStaticField(className, fieldName, descriptor);
+			}
+
+			variable.promote(className, fieldName);
+		}
+	}
+
 	@Override
 	public MethodOutput getOutput() {
 		return output;
@@ -47,6 +94,11 @@ public class EnvironmentMethod implements IEnvironmentMethod {
 		return environment.getClassOutput();
 	}
 
+	@Override
+	public ClassConstants getConstants() {
+		return environment.getConstants();
+	}
+
 	@Override
 	public int getLocal(SymbolLocal variable) {
 		if (!locals.containsKey(variable)) {
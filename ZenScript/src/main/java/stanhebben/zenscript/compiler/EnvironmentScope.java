@@ -54,6 +54,11 @@ public class EnvironmentScope implements IEnvironmentMethod {
 		return outer.getClassOutput();
 	}
 
+	@Override
+	public ClassConstants getConstants() {
+		return outer.getConstants();
+	}
+
 	@Override
 	public ZenType getType(Type type) {
 		return outer.getType(type);
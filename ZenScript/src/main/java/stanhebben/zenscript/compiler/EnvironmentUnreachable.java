@@ -0,0 +1,44 @@
+package stanhebben.zenscript.compiler;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import stanhebben.zenscript.symbols.SymbolLocal;
+import stanhebben.zenscript.util.MethodOutput;
+
+/**
+ * Scope for code that is never executed, such as the branch of an if
+ * statement with a constant condition. The code is still compiled, so errors
+ * in it are reported, but its output is discarded. Local variables are
+ * numbered in the discarded output, so they don't take up slots in the
+ * enclosing method.
+ *
+ * @author Stan Hebben
+ */
+public class EnvironmentUnreachable extends EnvironmentScope {
+	private final MethodOutput output;
+	private final Map<SymbolLocal, Integer> locals;
+
+	public EnvironmentUnreachable(IEnvironmentMethod outer) {
+		super(outer);
+
+		this.output = new MethodOutput(new ClassWriter(0), Opcodes.ACC_STATIC, "__unreachable__", "()V", null, null);
+		this.locals = new HashMap<SymbolLocal, Integer>();
+	}
+
+	@Override
+	public MethodOutput getOutput() {
+		return output;
+	}
+
+	@Override
+	public int getLocal(SymbolLocal variable) {
+		Integer result = locals.get(variable);
+		if (result == null) {
+			result = output.local(variable.getType().toASMType());
+			locals.put(variable, result);
+		}
+		return result;
+	}
+}
@@ -14,4 +14,11 @@ import org.objectweb.asm.ClassVisitor;
  */
 public interface IEnvironmentClass extends IEnvironmentGlobal {
 	public ClassVisitor getClassOutput();
+
+	/**
+	 * Retrieves the constants of the class being compiled.
+	 * 
+	 * @return class constants, or null if the class cannot hold constants
+	 */
+	public ClassConstants getConstants();
 }
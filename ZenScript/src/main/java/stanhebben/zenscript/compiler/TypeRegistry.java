@@ -68,7 +68,7 @@ public class TypeRegistry implements ITypeRegistry {
 		types.put(List.class, new ZenTypeArrayBasic(ZenTypeAny.INSTANCE));
 	}
 
-	public ZenType getClassType(Class cls) {
+	public synchronized ZenType getClassType(Class cls) {
 		if (types.containsKey(cls)) {
 			return types.get(cls);
 		} else if (cls.isArray()) {
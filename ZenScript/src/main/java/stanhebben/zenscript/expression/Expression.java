@@ -5,6 +5,7 @@ import stanhebben.zenscript.ZenTokener;
 import stanhebben.zenscript.compiler.IEnvironmentGlobal;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
 import stanhebben.zenscript.expression.partial.IPartialExpression;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
 import stanhebben.zenscript.parser.expression.ParsedExpression;
 import stanhebben.zenscript.symbols.IZenSymbol;
 import stanhebben.zenscript.type.ZenType;
@@ -42,8 +43,40 @@ public abstract class Expression implements IPartialExpression {
 		}
 	}
 
+	/**
+	 * Simplifies this expression by evaluating its constant parts at compile
+	 * time. Must not change the result or the side effects of the expression.
+	 *
+	 * @return simplified expression, or this expression if it cannot be simplified
+	 */
+	public Expression optimize() {
+		return this;
+	}
+
+	/**
+	 * Checks if this expression always evaluates to the same immutable value
+	 * and has no side effects, so its value can be evaluated once and shared.
+	 *
+	 * @return true for constant expressions
+	 */
+	public boolean isConstant() {
+		return false;
+	}
+
 	public abstract void compile(boolean result, IEnvironmentMethod environment);
 
+	/**
+	 * Prepares this expression for the interpreter. Expressions that are not
+	 * supported by the interpreter return null; the code containing them is
+	 * compiled instead.
+	 *
+	 * @param environment method environment
+	 * @return interpreted expression, or null if not supported
+	 */
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		return null;
+	}
+
 	public void compileIf(Label onElse, IEnvironmentMethod environment) {
 		if (getType() == ZenType.BOOL) {
 			compile(true, environment);
@@ -56,6 +89,24 @@ public abstract class Expression implements IPartialExpression {
 		}
 	}
 
+	/**
+	 * Prepares all given expressions for the interpreter.
+	 *
+	 * @param environment method environment
+	 * @param expressions expressions to prepare
+	 * @return interpreted expressions, or null if any of them is not supported
+	 */
+	protected static IInterpretedExpression[] prepare(IEnvironmentMethod environment, Expression[] expressions) {
+		IInterpretedExpression[] result = new IInterpretedExpression[expressions.length];
+		for (int i = 0; i < expressions.length; i++) {
+			result[i] = expressions[i].prepare(environment);
+			if (result[i] == null) {
+				return null;
+			}
+		}
+		return result;
+	}
+
 	// #########################################
 	// ### IPartialExpression implementation ###
 	// #########################################
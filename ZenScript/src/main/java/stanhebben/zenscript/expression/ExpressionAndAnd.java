@@ -2,6 +2,8 @@ package stanhebben.zenscript.expression;
 
 import org.objectweb.asm.Label;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.util.MethodOutput;
 import stanhebben.zenscript.util.ZenPosition;
@@ -43,6 +45,26 @@ public class ExpressionAndAnd extends Expression {
 		}
 	}
 
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		if (a.getType() != ZenType.BOOL || b.getType() != ZenType.BOOL) {
+			return null;
+		}
+
+		final IInterpretedExpression preparedA = a.prepare(environment);
+		final IInterpretedExpression preparedB = b.prepare(environment);
+		if (preparedA == null || preparedB == null) {
+			return null;
+		}
+
+		return new IInterpretedExpression() {
+			@Override
+			public Object evaluate(InterpreterFrame frame) {
+				return (Boolean) preparedA.evaluate(frame) && (Boolean) preparedB.evaluate(frame);
+			}
+		};
+	}
+
 	@Override
 	public void compileIf(Label onElse, IEnvironmentMethod environment) {
 		a.compile(true, environment);
@@ -8,6 +8,8 @@ package stanhebben.zenscript.expression;
 
 import stanhebben.zenscript.annotations.OperatorType;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.ZenTypeBool;
 import stanhebben.zenscript.type.ZenTypeByte;
@@ -41,8 +43,29 @@ public class ExpressionArithmeticBinary extends Expression {
 		return a.getType();
 	}
 
+	@Override
+	public Expression optimize() {
+		Expression optimizedA = a.optimize();
+		Expression optimizedB = b.optimize();
+
+		Expression folded = fold(optimizedA, optimizedB);
+		if (folded != null) {
+			return folded;
+		} else if (optimizedA != a || optimizedB != b) {
+			return new ExpressionArithmeticBinary(getPosition(), operator, optimizedA, optimizedB);
+		} else {
+			return this;
+		}
+	}
+
 	@Override
 	public void compile(boolean result, IEnvironmentMethod environment) {
+		Expression optimized = optimize();
+		if (optimized != this) {
+			optimized.compile(result, environment);
+			return;
+		}
+
 		if (result) {
 			a.compile(result, environment);
 			b.compile(result, environment);
@@ -170,4 +193,259 @@ public class ExpressionArithmeticBinary extends Expression {
 			b.compile(result, environment);
 		}
 	}
+
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		Expression optimized = optimize();
+		if (optimized != this) {
+			return optimized.prepare(environment);
+		}
+
+		final ZenType type = a.getType();
+		if (b.getType() != type || !isInterpretable(type)) {
+			return null;
+		}
+
+		final IInterpretedExpression preparedA = a.prepare(environment);
+		final IInterpretedExpression preparedB = b.prepare(environment);
+		if (preparedA == null || preparedB == null) {
+			return null;
+		}
+
+		return new IInterpretedExpression() {
+			@Override
+			public Object evaluate(InterpreterFrame frame) {
+				Object valueA = preparedA.evaluate(frame);
+				Object valueB = preparedB.evaluate(frame);
+				return calculate(type, valueA, valueB);
+			}
+		};
+	}
+
+	// #######################
+	// ### Private methods ###
+	// #######################
+
+	private boolean isInterpretable(ZenType type) {
+		// byte and short results are not truncated in compiled code
+		switch (operator) {
+			case ADD:
+			case SUB:
+			case MUL:
+			case DIV:
+			case MOD:
+				return type == ZenTypeInt.INSTANCE || type == ZenTypeLong.INSTANCE
+						|| type == ZenTypeFloat.INSTANCE || type == ZenTypeDouble.INSTANCE;
+			case AND:
+			case OR:
+			case XOR:
+				return type == ZenType.BOOL || type == ZenTypeInt.INSTANCE || type == ZenTypeLong.INSTANCE;
+			default:
+				return false;
+		}
+	}
+
+	private Object calculate(ZenType type, Object a, Object b) {
+		if (type == ZenType.BOOL) {
+			boolean valueA = (Boolean) a;
+			boolean valueB = (Boolean) b;
+
+			switch (operator) {
+				case AND:
+					return valueA & valueB;
+				case OR:
+					return valueA | valueB;
+				case XOR:
+					return valueA ^ valueB;
+			}
+		} else if (type == ZenTypeInt.INSTANCE) {
+			int valueA = ((Number) a).intValue();
+			int valueB = ((Number) b).intValue();
+
+			switch (operator) {
+				case ADD:
+					return valueA + valueB;
+				case SUB:
+					return valueA - valueB;
+				case MUL:
+					return valueA * valueB;
+				case DIV:
+					return valueA / valueB;
+				case MOD:
+					return valueA % valueB;
+				case AND:
+					return valueA & valueB;
+				case OR:
+					return valueA | valueB;
+				case XOR:
+					return valueA ^ valueB;
+			}
+		} else if (type == ZenTypeLong.INSTANCE) {
+			long valueA = ((Number) a).longValue();
+			long valueB = ((Number) b).longValue();
+
+			switch (operator) {
+				case ADD:
+					return valueA + valueB;
+				case SUB:
+					return valueA - valueB;
+				case MUL:
+					return valueA * valueB;
+				case DIV:
+					return valueA / valueB;
+				case MOD:
+					return valueA % valueB;
+				case AND:
+					return valueA & valueB;
+				case OR:
+					return valueA | valueB;
+				case XOR:
+					return valueA ^ valueB;
+			}
+		} else if (type == ZenTypeFloat.INSTANCE) {
+			float valueA = ((Number) a).floatValue();
+			float valueB = ((Number) b).floatValue();
+
+			switch (operator) {
+				case ADD:
+					return valueA + valueB;
+				case SUB:
+					return valueA - valueB;
+				case MUL:
+					return valueA * valueB;
+				case DIV:
+					return valueA / valueB;
+				case MOD:
+					return valueA % valueB;
+			}
+		} else if (type == ZenTypeDouble.INSTANCE) {
+			double valueA = ((Number) a).doubleValue();
+			double valueB = ((Number) b).doubleValue();
+
+			switch (operator) {
+				case ADD:
+					return valueA + valueB;
+				case SUB:
+					return valueA - valueB;
+				case MUL:
+					return valueA * valueB;
+				case DIV:
+					return valueA / valueB;
+				case MOD:
+					return valueA % valueB;
+			}
+		}
+
+		throw new UnsupportedOperationException("Unsupported operator on " + type + ": " + operator);
+	}
+
+	private Expression fold(Expression a, Expression b) {
+		ZenType type = a.getType();
+		if (b.getType() != type) {
+			return null;
+		}
+
+		if (a instanceof ExpressionBool && b instanceof ExpressionBool) {
+			boolean valueA = ((ExpressionBool) a).getValue();
+			boolean valueB = ((ExpressionBool) b).getValue();
+
+			switch (operator) {
+				case AND:
+					return new ExpressionBool(getPosition(), valueA & valueB);
+				case OR:
+					return new ExpressionBool(getPosition(), valueA | valueB);
+				case XOR:
+					return new ExpressionBool(getPosition(), valueA ^ valueB);
+			}
+		} else if (a instanceof ExpressionInt && b instanceof ExpressionInt) {
+			// byte and short operations are executed as int operations without
+			// truncating the result, so those are left alone
+			long valueA = ((ExpressionInt) a).getValue();
+			long valueB = ((ExpressionInt) b).getValue();
+
+			if ((operator == OperatorType.DIV || operator == OperatorType.MOD) && valueB == 0) {
+				// must throw at runtime
+				return null;
+			}
+
+			if (type == ZenTypeInt.INSTANCE) {
+				int intA = (int) valueA;
+				int intB = (int) valueB;
+
+				switch (operator) {
+					case ADD:
+						return new ExpressionInt(getPosition(), intA + intB, type);
+					case SUB:
+						return new ExpressionInt(getPosition(), intA - intB, type);
+					case MUL:
+						return new ExpressionInt(getPosition(), intA * intB, type);
+					case DIV:
+						return new ExpressionInt(getPosition(), intA / intB, type);
+					case MOD:
+						return new ExpressionInt(getPosition(), intA % intB, type);
+					case AND:
+						return new ExpressionInt(getPosition(), intA & intB, type);
+					case OR:
+						return new ExpressionInt(getPosition(), intA | intB, type);
+					case XOR:
+						return new ExpressionInt(getPosition(), intA ^ intB, type);
+				}
+			} else if (type == ZenTypeLong.INSTANCE) {
+				switch (operator) {
+					case ADD:
+						return new ExpressionInt(getPosition(), valueA + valueB, type);
+					case SUB:
+						return new ExpressionInt(getPosition(), valueA - valueB, type);
+					case MUL:
+						return new ExpressionInt(getPosition(), valueA * valueB, type);
+					case DIV:
+						return new ExpressionInt(getPosition(), valueA / valueB, type);
+					case MOD:
+						return new ExpressionInt(getPosition(), valueA % valueB, type);
+					case AND:
+						return new ExpressionInt(getPosition(), valueA & valueB, type);
+					case OR:
+						return new ExpressionInt(getPosition(), valueA | valueB, type);
+					case XOR:
+						return new ExpressionInt(getPosition(), valueA ^ valueB, type);
+				}
+			}
+		} else if (a instanceof ExpressionFloat && b instanceof ExpressionFloat) {
+			double valueA = ((ExpressionFloat) a).getValue();
+			double valueB = ((ExpressionFloat) b).getValue();
+
+			if (type == ZenTypeFloat.INSTANCE) {
+				float floatA = (float) valueA;
+				float floatB = (float) valueB;
+
+				switch (operator) {
+					case ADD:
+						return new ExpressionFloat(getPosition(), floatA + floatB, type);
+					case SUB:
+						return new ExpressionFloat(getPosition(), floatA - floatB, type);
+					case MUL:
+						return new ExpressionFloat(getPosition(), floatA * floatB, type);
+					case DIV:
+						return new ExpressionFloat(getPosition(), floatA / floatB, type);
+					case MOD:
+						return new ExpressionFloat(getPosition(), floatA % floatB, type);
+				}
+			} else if (type == ZenTypeDouble.INSTANCE) {
+				switch (operator) {
+					case ADD:
+						return new ExpressionFloat(getPosition(), valueA + valueB, type);
+					case SUB:
+						return new ExpressionFloat(getPosition(), valueA - valueB, type);
+					case MUL:
+						return new ExpressionFloat(getPosition(), valueA * valueB, type);
+					case DIV:
+						return new ExpressionFloat(getPosition(), valueA / valueB, type);
+					case MOD:
+						return new ExpressionFloat(getPosition(), valueA % valueB, type);
+				}
+			}
+		}
+
+		return null;
+	}
 }
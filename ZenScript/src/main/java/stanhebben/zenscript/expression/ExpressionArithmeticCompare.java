@@ -3,6 +3,8 @@ package stanhebben.zenscript.expression;
 import org.objectweb.asm.Label;
 import stanhebben.zenscript.annotations.CompareType;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.ZenTypeBool;
 import stanhebben.zenscript.type.ZenTypeByte;
@@ -32,8 +34,29 @@ public class ExpressionArithmeticCompare extends Expression {
 		return ZenType.BOOL;
 	}
 
+	@Override
+	public Expression optimize() {
+		Expression optimizedA = a.optimize();
+		Expression optimizedB = b.optimize();
+
+		Expression folded = fold(optimizedA, optimizedB);
+		if (folded != null) {
+			return folded;
+		} else if (optimizedA != a || optimizedB != b) {
+			return new ExpressionArithmeticCompare(getPosition(), type, optimizedA, optimizedB);
+		} else {
+			return this;
+		}
+	}
+
 	@Override
 	public void compile(boolean result, IEnvironmentMethod environment) {
+		Expression optimized = optimize();
+		if (optimized != this) {
+			optimized.compile(result, environment);
+			return;
+		}
+
 		a.compile(result, environment);
 		b.compile(result, environment);
 
@@ -116,4 +139,158 @@ public class ExpressionArithmeticCompare extends Expression {
 			}
 		}
 	}
+
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		Expression optimized = optimize();
+		if (optimized != this) {
+			return optimized.prepare(environment);
+		}
+
+		final ZenType valueType = a.getType();
+		if (b.getType() != valueType) {
+			return null;
+		} else if (valueType == ZenType.BOOL) {
+			if (type != CompareType.EQ && type != CompareType.NE) {
+				return null;
+			}
+		} else if (valueType != ZenTypeByte.INSTANCE
+				&& valueType != ZenTypeShort.INSTANCE
+				&& valueType != ZenTypeInt.INSTANCE
+				&& valueType != ZenTypeLong.INSTANCE
+				&& valueType != ZenTypeFloat.INSTANCE
+				&& valueType != ZenTypeDouble.INSTANCE) {
+			return null;
+		}
+
+		final IInterpretedExpression preparedA = a.prepare(environment);
+		final IInterpretedExpression preparedB = b.prepare(environment);
+		if (preparedA == null || preparedB == null) {
+			return null;
+		}
+
+		return new IInterpretedExpression() {
+			@Override
+			public Object evaluate(InterpreterFrame frame) {
+				Object valueA = preparedA.evaluate(frame);
+				Object valueB = preparedB.evaluate(frame);
+				return matches(compare(valueType, valueA, valueB));
+			}
+		};
+	}
+
+	// #######################
+	// ### Private methods ###
+	// #######################
+
+	private static int compare(ZenType valueType, Object a, Object b) {
+		if (valueType == ZenType.BOOL) {
+			return a.equals(b) ? 0 : 1;
+		} else if (valueType == ZenTypeLong.INSTANCE) {
+			long valueA = ((Number) a).longValue();
+			long valueB = ((Number) b).longValue();
+			return valueA < valueB ? -1 : (valueA > valueB ? 1 : 0);
+		} else if (valueType == ZenTypeFloat.INSTANCE || valueType == ZenTypeDouble.INSTANCE) {
+			double valueA = ((Number) a).doubleValue();
+			double valueB = ((Number) b).doubleValue();
+
+			// same as fcmpl / dcmpl: NaN compares as less
+			if (Double.isNaN(valueA) || Double.isNaN(valueB)) {
+				return -1;
+			}
+			return valueA < valueB ? -1 : (valueA > valueB ? 1 : 0);
+		} else {
+			int valueA = ((Number) a).intValue();
+			int valueB = ((Number) b).intValue();
+			return valueA < valueB ? -1 : (valueA > valueB ? 1 : 0);
+		}
+	}
+
+	private boolean matches(int comparison) {
+		switch (type) {
+			case EQ:
+				return comparison == 0;
+			case NE:
+				return comparison != 0;
+			case LE:
+				return comparison <= 0;
+			case GE:
+				return comparison >= 0;
+			case LT:
+				return comparison < 0;
+			case GT:
+				return comparison > 0;
+			default:
+				throw new UnsupportedOperationException("Unsupported comparison: " + type);
+		}
+	}
+
+	private Expression fold(Expression a, Expression b) {
+		ZenType valueType = a.getType();
+		if (b.getType() != valueType) {
+			return null;
+		}
+
+		int comparison;
+		if (a instanceof ExpressionBool && b instanceof ExpressionBool) {
+			if (type != CompareType.EQ && type != CompareType.NE) {
+				return null;
+			}
+
+			comparison = ((ExpressionBool) a).getValue() == ((ExpressionBool) b).getValue() ? 0 : 1;
+		} else if (a instanceof ExpressionInt && b instanceof ExpressionInt) {
+			// compare the values as they are pushed on the stack
+			long valueA = ((ExpressionInt) a).getValue();
+			long valueB = ((ExpressionInt) b).getValue();
+			if (valueType == ZenTypeByte.INSTANCE) {
+				valueA = (byte) valueA;
+				valueB = (byte) valueB;
+			} else if (valueType == ZenTypeShort.INSTANCE) {
+				valueA = (short) valueA;
+				valueB = (short) valueB;
+			} else if (valueType == ZenTypeInt.INSTANCE) {
+				valueA = (int) valueA;
+				valueB = (int) valueB;
+			} else if (valueType != ZenTypeLong.INSTANCE) {
+				return null;
+			}
+
+			comparison = valueA < valueB ? -1 : (valueA > valueB ? 1 : 0);
+		} else if (a instanceof ExpressionFloat && b instanceof ExpressionFloat) {
+			double valueA = ((ExpressionFloat) a).getValue();
+			double valueB = ((ExpressionFloat) b).getValue();
+			if (valueType == ZenTypeFloat.INSTANCE) {
+				valueA = (float) valueA;
+				valueB = (float) valueB;
+			} else if (valueType != ZenTypeDouble.INSTANCE) {
+				return null;
+			}
+
+			// same as fcmpl / dcmpl: NaN compares as less
+			if (Double.isNaN(valueA) || Double.isNaN(valueB)) {
+				comparison = -1;
+			} else {
+				comparison = valueA < valueB ? -1 : (valueA > valueB ? 1 : 0);
+			}
+		} else {
+			return null;
+		}
+
+		switch (type) {
+			case EQ:
+				return new ExpressionBool(getPosition(), comparison == 0);
+			case NE:
+				return new ExpressionBool(getPosition(), comparison != 0);
+			case LE:
+				return new ExpressionBool(getPosition(), comparison <= 0);
+			case GE:
+				return new ExpressionBool(getPosition(), comparison >= 0);
+			case LT:
+				return new ExpressionBool(getPosition(), comparison < 0);
+			case GT:
+				return new ExpressionBool(getPosition(), comparison > 0);
+			default:
+				return null;
+		}
+	}
 }
@@ -2,6 +2,8 @@ package stanhebben.zenscript.expression;
 
 import stanhebben.zenscript.annotations.OperatorType;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.ZenTypeBool;
 import stanhebben.zenscript.type.ZenTypeByte;
@@ -29,8 +31,28 @@ public class ExpressionArithmeticUnary extends Expression {
 		return base.getType();
 	}
 
+	@Override
+	public Expression optimize() {
+		Expression optimizedBase = base.optimize();
+
+		Expression folded = fold(optimizedBase);
+		if (folded != null) {
+			return folded;
+		} else if (optimizedBase != base) {
+			return new ExpressionArithmeticUnary(getPosition(), operator, optimizedBase);
+		} else {
+			return this;
+		}
+	}
+
 	@Override
 	public void compile(boolean result, IEnvironmentMethod environment) {
+		Expression optimized = optimize();
+		if (optimized != this) {
+			optimized.compile(result, environment);
+			return;
+		}
+
 		base.compile(result, environment);
 
 		MethodOutput output = environment.getOutput();
@@ -38,7 +60,9 @@ public class ExpressionArithmeticUnary extends Expression {
 			ZenType type = base.getType();
 			if (type == ZenType.BOOL) {
 				if (operator == OperatorType.NOT) {
-					output.iNot();
+					// bools are 0 or 1, ~ would turn them into -1 or -2
+					output.iConst1();
+					output.iXor();
 					return;
 				}
 			} else if (type == ZenTypeByte.INSTANCE || type == ZenTypeShort.INSTANCE || type == ZenTypeInt.INSTANCE) {
@@ -72,4 +96,88 @@ public class ExpressionArithmeticUnary extends Expression {
 
 		environment.error(getPosition(), "Invalid operation");
 	}
+
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		Expression optimized = optimize();
+		if (optimized != this) {
+			return optimized.prepare(environment);
+		}
+
+		final ZenType type = base.getType();
+		if (!isInterpretable(type)) {
+			return null;
+		}
+
+		final IInterpretedExpression preparedBase = base.prepare(environment);
+		if (preparedBase == null) {
+			return null;
+		}
+
+		return new IInterpretedExpression() {
+			@Override
+			public Object evaluate(InterpreterFrame frame) {
+				return calculate(type, preparedBase.evaluate(frame));
+			}
+		};
+	}
+
+	// #######################
+	// ### Private methods ###
+	// #######################
+
+	private boolean isInterpretable(ZenType type) {
+		// byte and short results are not truncated in compiled code
+		if (operator == OperatorType.NOT) {
+			return type == ZenType.BOOL || type == ZenTypeInt.INSTANCE || type == ZenTypeLong.INSTANCE;
+		} else if (operator == OperatorType.NEG) {
+			return type == ZenTypeInt.INSTANCE || type == ZenTypeLong.INSTANCE
+					|| type == ZenTypeFloat.INSTANCE || type == ZenTypeDouble.INSTANCE;
+		} else {
+			return false;
+		}
+	}
+
+	private Object calculate(ZenType type, Object value) {
+		if (type == ZenType.BOOL) {
+			return !(Boolean) value;
+		} else if (type == ZenTypeInt.INSTANCE) {
+			int intValue = ((Number) value).intValue();
+			return operator == OperatorType.NOT ? ~intValue : -intValue;
+		} else if (type == ZenTypeLong.INSTANCE) {
+			long longValue = ((Number) value).longValue();
+			return operator == OperatorType.NOT ? ~longValue : -longValue;
+		} else if (type == ZenTypeFloat.INSTANCE) {
+			return -((Number) value).floatValue();
+		} else {
+			return -((Number) value).doubleValue();
+		}
+	}
+
+	private Expression fold(Expression base) {
+		ZenType type = base.getType();
+		if (base instanceof ExpressionInt) {
+			long value = ((ExpressionInt) base).getValue();
+			if (type == ZenTypeInt.INSTANCE) {
+				if (operator == OperatorType.NOT) {
+					return new ExpressionInt(getPosition(), ~(int) value, type);
+				} else if (operator == OperatorType.NEG) {
+					return new ExpressionInt(getPosition(), -(int) value, type);
+				}
+			} else if (type == ZenTypeLong.INSTANCE) {
+				if (operator == OperatorType.NOT) {
+					return new ExpressionInt(getPosition(), ~value, type);
+				} else if (operator == OperatorType.NEG) {
+					return new ExpressionInt(getPosition(), -value, type);
+				}
+			}
+		} else if (base instanceof ExpressionFloat) {
+			double value = ((ExpressionFloat) base).getValue();
+			if (operator == OperatorType.NEG && (type == ZenTypeFloat.INSTANCE || type == ZenTypeDouble.INSTANCE)) {
+				return new ExpressionFloat(getPosition(), -value, type);
+			}
+		}
+
+		return null;
+	}
 }
@@ -1,9 +1,13 @@
 package stanhebben.zenscript.expression;
 
+import java.lang.reflect.Array;
 import org.objectweb.asm.Type;
+import stanhebben.zenscript.compiler.ClassConstants;
 import stanhebben.zenscript.compiler.IEnvironmentGlobal;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
 
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.ZenTypeArrayBasic;
 import stanhebben.zenscript.type.casting.ICastingRule;
@@ -57,14 +61,61 @@ public class ExpressionArray extends Expression {
 		Type asmBaseType = type.getBaseType().toASMType();
 
 		MethodOutput output = environment.getOutput();
+
+		// cast once, casting again would report conversion errors twice
+		Expression[] castContents = new Expression[contents.length];
+		boolean constant = true;
+		for (int i = 0; i < contents.length; i++) {
+			castContents[i] = contents[i].cast(getPosition(), environment, baseType);
+			constant &= castContents[i].isConstant();
+		}
+
+		ClassConstants constants = environment.getConstants();
+		if (result && constant && constants != null && !constants.isInitializing() && contents.length > 0) {
+			// evaluate the contents once and copy them; the copy keeps the array modifiable
+			constants.load(new ExpressionArray(getPosition(), type, castContents), output);
+			output.invokeVirtual(type.toASMType().getDescriptor(), "clone", "()Ljava/lang/Object;");
+			output.checkCast(type.toASMType().getDescriptor());
+			return;
+		}
+
 		output.constant(contents.length);
 		output.newArray(asmBaseType);
 
 		for (int i = 0; i < contents.length; i++) {
 			output.dup();
 			output.constant(i);
-			contents[i].cast(this.getPosition(), environment, baseType).compile(result, environment);
+			castContents[i].compile(result, environment);
 			output.arrayStore(asmBaseType);
 		}
 	}
+
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		final Class<?> baseClass = type.getBaseType().toJavaClass();
+		if (baseClass == null) {
+			return null;
+		}
+
+		Expression[] castContents = new Expression[contents.length];
+		for (int i = 0; i < contents.length; i++) {
+			castContents[i] = contents[i].cast(getPosition(), environment, type.getBaseType());
+		}
+
+		final IInterpretedExpression[] preparedContents = prepare(environment, castContents);
+		if (preparedContents == null) {
+			return null;
+		}
+
+		return new IInterpretedExpression() {
+			@Override
+			public Object evaluate(InterpreterFrame frame) {
+				Object result = Array.newInstance(baseClass, preparedContents.length);
+				for (int i = 0; i < preparedContents.length; i++) {
+					Array.set(result, i, preparedContents[i].evaluate(frame));
+				}
+				return result;
+			}
+		};
+	}
 }
@@ -6,7 +6,10 @@
 
 package stanhebben.zenscript.expression;
 
+import java.lang.reflect.Array;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.ZenTypeArray;
 import stanhebben.zenscript.util.ZenPosition;
@@ -42,4 +45,21 @@ public class ExpressionArrayGet extends Expression {
 			environment.getOutput().arrayLoad(baseType.toASMType());
 		}
 	}
+
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		final IInterpretedExpression preparedArray = array.prepare(environment);
+		final IInterpretedExpression preparedIndex = index.prepare(environment);
+		if (preparedArray == null || preparedIndex == null) {
+			return null;
+		}
+
+		return new IInterpretedExpression() {
+			@Override
+			public Object evaluate(InterpreterFrame frame) {
+				Object value = preparedArray.evaluate(frame);
+				return Array.get(value, ((Number) preparedIndex.evaluate(frame)).intValue());
+			}
+		};
+	}
 }
@@ -2,7 +2,12 @@ package stanhebben.zenscript.expression;
 
 import stanhebben.zenscript.compiler.IEnvironmentGlobal;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedCastingRule;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
+import stanhebben.zenscript.type.ZenTypeArray;
+import stanhebben.zenscript.type.ZenTypeAssociative;
 import stanhebben.zenscript.type.casting.ICastingRule;
 import stanhebben.zenscript.util.ZenPosition;
 
@@ -33,6 +38,13 @@ public class ExpressionAs extends Expression {
 		return castingRule.getResultingType();
 	}
 
+	@Override
+	public boolean isConstant() {
+		// conversions to arrays, lists and maps create mutable values
+		ZenType type = getType();
+		return value.isConstant() && !(type instanceof ZenTypeArray) && !(type instanceof ZenTypeAssociative);
+	}
+
 	@Override
 	public void compile(boolean result, IEnvironmentMethod environment) {
 		value.compile(result, environment);
@@ -41,4 +53,20 @@ public class ExpressionAs extends Expression {
 			castingRule.compile(environment);
 		}
 	}
+
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		final IInterpretedExpression preparedValue = value.prepare(environment);
+		final IInterpretedCastingRule preparedRule = castingRule.prepare();
+		if (preparedValue == null || preparedRule == null) {
+			return null;
+		}
+
+		return new IInterpretedExpression() {
+			@Override
+			public Object evaluate(InterpreterFrame frame) {
+				return preparedRule.cast(frame, preparedValue.evaluate(frame));
+			}
+		};
+	}
 }
@@ -9,6 +9,8 @@ package stanhebben.zenscript.expression;
 import org.objectweb.asm.Label;
 import stanhebben.zenscript.compiler.IEnvironmentGlobal;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpretedConstant;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.util.ZenPosition;
 
@@ -25,6 +27,10 @@ public class ExpressionBool extends Expression {
 		this.value = value;
 	}
 
+	public boolean getValue() {
+		return value;
+	}
+
 	@Override
 	public Expression cast(ZenPosition position, IEnvironmentGlobal environment, ZenType type) {
 		if (type == ZenType.BOOL) {
@@ -45,6 +51,11 @@ public class ExpressionBool extends Expression {
 		return ZenType.BOOL;
 	}
 
+	@Override
+	public boolean isConstant() {
+		return true;
+	}
+
 	@Override
 	public void compile(boolean result, IEnvironmentMethod environment) {
 		if (result) {
@@ -56,6 +67,11 @@ public class ExpressionBool extends Expression {
 		}
 	}
 
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		return new InterpretedConstant(value);
+	}
+
 	@Override
 	public void compileIf(Label onElse, IEnvironmentMethod environment) {
 		if (!value) {
@@ -8,6 +8,8 @@ package stanhebben.zenscript.expression;
 
 import stanhebben.zenscript.compiler.IEnvironmentGlobal;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.natives.IJavaMethod;
 import stanhebben.zenscript.type.natives.JavaMethod;
@@ -52,4 +54,23 @@ public class ExpressionCallStatic extends Expression {
 			output.pop(method.getReturnType().isLarge());
 		}
 	}
+
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		final IInterpretedExpression[] preparedArguments = prepare(environment, arguments);
+		if (preparedArguments == null) {
+			return null;
+		}
+
+		return new IInterpretedExpression() {
+			@Override
+			public Object evaluate(InterpreterFrame frame) {
+				Object[] values = new Object[preparedArguments.length];
+				for (int i = 0; i < values.length; i++) {
+					values[i] = preparedArguments[i].evaluate(frame);
+				}
+				return frame.invoke(method, null, values);
+			}
+		};
+	}
 }
@@ -8,6 +8,8 @@ package stanhebben.zenscript.expression;
 
 import stanhebben.zenscript.compiler.IEnvironmentGlobal;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.natives.IJavaMethod;
 import stanhebben.zenscript.type.natives.JavaMethod;
@@ -55,4 +57,25 @@ public class ExpressionCallVirtual extends Expression {
 			environment.getOutput().pop(method.getReturnType().isLarge());
 		}
 	}
+
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		final IInterpretedExpression preparedReceiver = receiver.prepare(environment);
+		final IInterpretedExpression[] preparedArguments = prepare(environment, arguments);
+		if (preparedReceiver == null || preparedArguments == null) {
+			return null;
+		}
+
+		return new IInterpretedExpression() {
+			@Override
+			public Object evaluate(InterpreterFrame frame) {
+				Object target = preparedReceiver.evaluate(frame);
+				Object[] values = new Object[preparedArguments.length];
+				for (int i = 0; i < values.length; i++) {
+					values[i] = preparedArguments[i].evaluate(frame);
+				}
+				return frame.invoke(method, target, values);
+			}
+		};
+	}
 }
@@ -0,0 +1,86 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+
+package stanhebben.zenscript.expression;
+
+import stanhebben.zenscript.compiler.ClassConstants;
+import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
+import stanhebben.zenscript.type.ZenType;
+import stanhebben.zenscript.util.ZenPosition;
+
+/**
+ * Expression with a value that never changes, such as the value of a bracket
+ * expression. The value is evaluated only once and kept in a constant field of
+ * the class, if the class supports constants.
+ *
+ * The value expression must not have side effects and must not depend on any
+ * local state.
+ *
+ * @author Stan Hebben
+ */
+public class ExpressionClassConstant extends Expression {
+	private final String key;
+	private final Expression value;
+
+	/**
+	 * Creates a class constant expression. Expressions with the same key must
+	 * have the same value.
+	 *
+	 * @param position expression position
+	 * @param key constant key
+	 * @param value constant value
+	 */
+	public ExpressionClassConstant(ZenPosition position, String key, Expression value) {
+		super(position);
+
+		this.key = key;
+		this.value = value;
+	}
+
+	@Override
+	public ZenType getType() {
+		return value.getType();
+	}
+
+	@Override
+	public boolean isConstant() {
+		return true;
+	}
+
+	@Override
+	public void compile(boolean result, IEnvironmentMethod environment) {
+		if (!result) {
+			return;
+		}
+
+		ClassConstants constants = environment.getConstants();
+		if (constants == null || !constants.canLoad(key)) {
+			value.compile(true, environment);
+		} else {
+			constants.load(key, value, environment.getOutput());
+		}
+	}
+
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		ClassConstants constants = environment.getConstants();
+		if (constants == null) {
+			return value.prepare(environment);
+		}
+
+		// shares the value with compiled code in the same class
+		final String owner = constants.getClassName();
+		final String field = constants.getField(key, value);
+		return new IInterpretedExpression() {
+			@Override
+			public Object evaluate(InterpreterFrame frame) {
+				return frame.getStaticField(owner, field);
+			}
+		};
+	}
+}
@@ -9,6 +9,8 @@ package stanhebben.zenscript.expression;
 import org.objectweb.asm.Label;
 import stanhebben.zenscript.annotations.CompareType;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.ZenTypeBool;
 import stanhebben.zenscript.util.MethodOutput;
@@ -73,4 +75,35 @@ public class ExpressionCompareGeneric extends Expression {
 			output.label(lblEnd);
 		}
 	}
+
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		final IInterpretedExpression preparedValue = value.prepare(environment);
+		if (preparedValue == null) {
+			return null;
+		}
+
+		return new IInterpretedExpression() {
+			@Override
+			public Object evaluate(InterpreterFrame frame) {
+				int comparison = ((Number) preparedValue.evaluate(frame)).intValue();
+				switch (type) {
+					case LT:
+						return comparison < 0;
+					case GT:
+						return comparison > 0;
+					case LE:
+						return comparison <= 0;
+					case GE:
+						return comparison >= 0;
+					case NE:
+						return comparison != 0;
+					case EQ:
+						return comparison == 0;
+					default:
+						throw new RuntimeException();
+				}
+			}
+		};
+	}
 }
@@ -2,6 +2,8 @@ package stanhebben.zenscript.expression;
 
 import org.objectweb.asm.Label;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.util.ZenPosition;
 
@@ -23,8 +25,26 @@ public class ExpressionConditional extends Expression {
 		return onIf.getType(); // TODO: improve
 	}
 
+	@Override
+	public Expression optimize() {
+		Expression optimizedCondition = condition.optimize();
+		if (optimizedCondition instanceof ExpressionBool) {
+			return ((ExpressionBool) optimizedCondition).getValue() ? onIf.optimize() : onElse.optimize();
+		} else if (optimizedCondition != condition) {
+			return new ExpressionConditional(getPosition(), optimizedCondition, onIf, onElse);
+		} else {
+			return this;
+		}
+	}
+
 	@Override
 	public void compile(boolean result, IEnvironmentMethod environment) {
+		Expression optimized = optimize();
+		if (optimized != this) {
+			optimized.compile(result, environment);
+			return;
+		}
+
 		Label lblElse = new Label();
 		Label lblExit = new Label();
 
@@ -35,4 +55,42 @@ public class ExpressionConditional extends Expression {
 		onElse.compile(result, environment);
 		environment.getOutput().label(lblExit);
 	}
+
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		Expression optimized = optimize();
+		if (optimized != this) {
+			return optimized.prepare(environment);
+		}
+
+		final boolean isBool = condition.getType() == ZenType.BOOL;
+		if (!isBool && !condition.getType().isPointer()) {
+			return null;
+		}
+
+		ZenType typeIf = onIf.getType();
+		ZenType typeElse = onElse.getType();
+		if (!typeIf.equals(typeElse) && !(typeIf.isPointer() && typeElse.isPointer())) {
+			return null;
+		}
+
+		final IInterpretedExpression preparedCondition = condition.prepare(environment);
+		final IInterpretedExpression preparedIf = onIf.prepare(environment);
+		final IInterpretedExpression preparedElse = onElse.prepare(environment);
+		if (preparedCondition == null || preparedIf == null || preparedElse == null) {
+			return null;
+		}
+
+		return new IInterpretedExpression() {
+			@Override
+			public Object evaluate(InterpreterFrame frame) {
+				Object value = preparedCondition.evaluate(frame);
+				if (isBool ? (Boolean) value : value != null) {
+					return preparedIf.evaluate(frame);
+				} else {
+					return preparedElse.evaluate(frame);
+				}
+			}
+		};
+	}
 }
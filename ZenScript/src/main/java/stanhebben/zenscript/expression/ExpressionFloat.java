@@ -7,6 +7,8 @@
 package stanhebben.zenscript.expression;
 
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpretedConstant;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.ZenTypeDouble;
 import stanhebben.zenscript.type.ZenTypeFloat;
@@ -27,11 +29,20 @@ public class ExpressionFloat extends Expression {
 		this.type = type;
 	}
 
+	public double getValue() {
+		return value;
+	}
+
 	@Override
 	public ZenType getType() {
 		return type;
 	}
 
+	@Override
+	public boolean isConstant() {
+		return true;
+	}
+
 	@Override
 	public void compile(boolean result, IEnvironmentMethod environment) {
 		if (!result)
@@ -45,4 +56,15 @@ public class ExpressionFloat extends Expression {
 			throw new RuntimeException("Internal compiler error: source type is not a floating point type");
 		}
 	}
+
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		if (type == ZenTypeFloat.INSTANCE) {
+			return new InterpretedConstant((float) value);
+		} else if (type == ZenTypeDouble.INSTANCE) {
+			return new InterpretedConstant(value);
+		} else {
+			return null;
+		}
+	}
 }
@@ -8,6 +8,8 @@ package stanhebben.zenscript.expression;
 
 import stanhebben.zenscript.compiler.IEnvironmentGlobal;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpretedConstant;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.ZenTypeByte;
 import stanhebben.zenscript.type.ZenTypeInt;
@@ -31,6 +33,10 @@ public class ExpressionInt extends Expression {
 		this.type = type;
 	}
 
+	public long getValue() {
+		return value;
+	}
+
 	@Override
 	public Expression cast(ZenPosition position, IEnvironmentGlobal environment, ZenType type) {
 		if (type == this.type)
@@ -55,6 +61,11 @@ public class ExpressionInt extends Expression {
 		return type;
 	}
 
+	@Override
+	public boolean isConstant() {
+		return true;
+	}
+
 	@Override
 	public void compile(boolean result, IEnvironmentMethod environment) {
 		if (!result)
@@ -73,4 +84,19 @@ public class ExpressionInt extends Expression {
 			throw new RuntimeException("Internal compiler error: int constant type is not an int");
 		}
 	}
+
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		if (type == ZenTypeByte.INSTANCE) {
+			return new InterpretedConstant((byte) value);
+		} else if (type == ZenTypeShort.INSTANCE) {
+			return new InterpretedConstant((short) value);
+		} else if (type == ZenTypeInt.INSTANCE) {
+			return new InterpretedConstant((int) value);
+		} else if (type == ZenTypeLong.INSTANCE) {
+			return new InterpretedConstant(value);
+		} else {
+			return null;
+		}
+	}
 }
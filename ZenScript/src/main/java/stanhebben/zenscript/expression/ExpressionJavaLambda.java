@@ -15,11 +15,15 @@ import stanhebben.zenscript.compiler.IEnvironmentMethod;
 import stanhebben.zenscript.compiler.EnvironmentMethod;
 import stanhebben.zenscript.compiler.IEnvironmentClass;
 import stanhebben.zenscript.definitions.ParsedFunctionArgument;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.statements.Statement;
 import stanhebben.zenscript.symbols.SymbolArgument;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.util.MethodOutput;
 import stanhebben.zenscript.util.ZenPosition;
+import static stanhebben.zenscript.util.ZenTypeUtil.CLASS_VERSION;
+import static stanhebben.zenscript.util.ZenTypeUtil.createClassWriter;
 import static stanhebben.zenscript.util.ZenTypeUtil.descriptor;
 import static stanhebben.zenscript.util.ZenTypeUtil.internal;
 
@@ -59,13 +63,37 @@ public class ExpressionJavaLambda extends Expression {
 		if (!result)
 			return;
 
+		String clsName = generateClass(environment);
+
+		// make class instance
+		environment.getOutput().newObject(clsName);
+		environment.getOutput().dup();
+		environment.getOutput().construct(clsName);
+	}
+
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		final String clsName = generateClass(environment);
+		return new IInterpretedExpression() {
+			@Override
+			public Object evaluate(InterpreterFrame frame) {
+				return frame.newInstance(clsName);
+			}
+		};
+	}
+
+	// #######################
+	// ### Private methods ###
+	// #######################
+
+	private String generateClass(IEnvironmentMethod environment) {
 		Method method = interfaceClass.getMethods()[0];
 
 		// generate class
 		String clsName = environment.makeClassName();
 
-		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
-		cw.visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC, clsName, null, "java/lang/Object", new String[] { internal(interfaceClass) });
+		ClassWriter cw = createClassWriter();
+		cw.visit(CLASS_VERSION, Opcodes.ACC_PUBLIC, clsName, null, "java/lang/Object", new String[] { internal(interfaceClass) });
 
 		MethodOutput constructor = new MethodOutput(cw, Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
 		constructor.start();
@@ -94,10 +122,6 @@ public class ExpressionJavaLambda extends Expression {
 		output.end();
 
 		environment.putClass(clsName, cw.toByteArray());
-
-		// make class instance
-		environment.getOutput().newObject(clsName);
-		environment.getOutput().dup();
-		environment.getOutput().construct(clsName);
+		return clsName;
 	}
 }
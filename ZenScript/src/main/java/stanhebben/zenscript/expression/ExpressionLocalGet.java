@@ -7,6 +7,8 @@
 package stanhebben.zenscript.expression;
 
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.symbols.SymbolLocal;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.util.ZenPosition;
@@ -31,7 +33,26 @@ public class ExpressionLocalGet extends Expression {
 
 	@Override
 	public void compile(boolean result, IEnvironmentMethod environment) {
-		int local = environment.getLocal(variable);
-		environment.getOutput().load(variable.getType().toASMType(), local);
+		if (variable.isPromoted()) {
+			environment.getOutput().getStaticField(variable.getFieldOwner(), variable.getFieldName(), variable.getType().toASMType().getDescriptor());
+		} else {
+			int local = environment.getLocal(variable);
+			environment.getOutput().load(variable.getType().toASMType(), local);
+		}
+	}
+
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		if (variable.isPromoted()) {
+			return null;
+		}
+
+		final int local = environment.getLocal(variable);
+		return new IInterpretedExpression() {
+			@Override
+			public Object evaluate(InterpreterFrame frame) {
+				return frame.getLocal(local);
+			}
+		};
 	}
 }
@@ -7,6 +7,8 @@
 package stanhebben.zenscript.expression;
 
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.symbols.SymbolLocal;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.util.ZenPosition;
@@ -33,12 +35,40 @@ public class ExpressionLocalSet extends Expression {
 
 	@Override
 	public void compile(boolean result, IEnvironmentMethod environment) {
-		int local = environment.getLocal(variable);
-
 		value.compile(true, environment);
 		if (result) {
 			environment.getOutput().dup();
 		}
-		environment.getOutput().store(variable.getType().toASMType(), local);
+
+		if (variable.isPromoted()) {
+			environment.getOutput().putStaticField(variable.getFieldOwner(), variable.getFieldName(), variable.getType().toASMType().getDescriptor());
+		} else {
+			int local = environment.getLocal(variable);
+			environment.getOutput().store(variable.getType().toASMType(), local);
+		}
+	}
+
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		// values are stored without conversion
+		ZenType type = variable.getType();
+		if (variable.isPromoted() || !(value.getType().equals(type) || value.getType().isPointer() && type.isPointer())) {
+			return null;
+		}
+
+		final IInterpretedExpression preparedValue = value.prepare(environment);
+		if (preparedValue == null) {
+			return null;
+		}
+
+		final int local = environment.getLocal(variable);
+		return new IInterpretedExpression() {
+			@Override
+			public Object evaluate(InterpreterFrame frame) {
+				Object result = preparedValue.evaluate(frame);
+				frame.setLocal(local, result);
+				return result;
+			}
+		};
 	}
 }
@@ -2,8 +2,11 @@ package stanhebben.zenscript.expression;
 
 import java.util.HashMap;
 import java.util.Map;
+import stanhebben.zenscript.compiler.ClassConstants;
 import stanhebben.zenscript.compiler.IEnvironmentGlobal;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.ZenTypeAny;
 import stanhebben.zenscript.type.ZenTypeAssociative;
@@ -38,14 +41,35 @@ public class ExpressionMap extends Expression {
 			ZenType valueType = type.getValueType();
 
 			MethodOutput output = environment.getOutput();
+
+			// cast once, casting again would report conversion errors twice
+			Expression[] castKeys = new Expression[keys.length];
+			Expression[] castValues = new Expression[values.length];
+			boolean constant = true;
+			for (int i = 0; i < keys.length; i++) {
+				castKeys[i] = keys[i].cast(getPosition(), environment, keyType);
+				castValues[i] = values[i].cast(getPosition(), environment, valueType);
+				constant &= castKeys[i].isConstant() && castValues[i].isConstant();
+			}
+
+			ClassConstants constants = environment.getConstants();
+			if (constant && constants != null && !constants.isInitializing() && keys.length > 0) {
+				// evaluate the contents once and copy them; the copy keeps the map modifiable
+				output.newObject(HashMap.class);
+				output.dup();
+				constants.load(new ExpressionMap(getPosition(), castKeys, castValues, type), output);
+				output.invokeSpecial(internal(HashMap.class), "<init>", "(Ljava/util/Map;)V");
+				return;
+			}
+
 			output.newObject(HashMap.class);
 			output.dup();
 			output.invokeSpecial(internal(HashMap.class), "<init>", "()V");
 
 			for (int i = 0; i < keys.length; i++) {
 				output.dup();
-				keys[i].cast(getPosition(), environment, keyType).compile(true, environment);
-				values[i].cast(getPosition(), environment, valueType).compile(true, environment);
+				castKeys[i].compile(true, environment);
+				castValues[i].compile(true, environment);
 				output.invokeInterface(internal(Map.class), "put", "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;");
 				output.pop();
 			}
@@ -59,6 +83,34 @@ public class ExpressionMap extends Expression {
 		}
 	}
 
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		Expression[] castKeys = new Expression[keys.length];
+		Expression[] castValues = new Expression[values.length];
+		for (int i = 0; i < keys.length; i++) {
+			castKeys[i] = keys[i].cast(getPosition(), environment, type.getKeyType());
+			castValues[i] = values[i].cast(getPosition(), environment, type.getValueType());
+		}
+
+		final IInterpretedExpression[] preparedKeys = prepare(environment, castKeys);
+		final IInterpretedExpression[] preparedValues = prepare(environment, castValues);
+		if (preparedKeys == null || preparedValues == null) {
+			return null;
+		}
+
+		return new IInterpretedExpression() {
+			@Override
+			public Object evaluate(InterpreterFrame frame) {
+				Map<Object, Object> result = new HashMap<Object, Object>();
+				for (int i = 0; i < preparedKeys.length; i++) {
+					Object key = preparedKeys[i].evaluate(frame);
+					result.put(key, preparedValues[i].evaluate(frame));
+				}
+				return result;
+			}
+		};
+	}
+
 	@Override
 	public Expression cast(ZenPosition position, IEnvironmentGlobal environment, ZenType type) {
 		if (this.type.equals(type)) {
@@ -8,6 +8,8 @@ package stanhebben.zenscript.expression;
 
 import java.util.Map;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.ZenTypeAssociative;
 import stanhebben.zenscript.util.ZenPosition;
@@ -49,4 +51,21 @@ public class ExpressionMapIndexGet extends Expression {
 			environment.getOutput().checkCast(type.toASMType().getInternalName());
 		}
 	}
+
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		final IInterpretedExpression preparedMap = map.prepare(environment);
+		final IInterpretedExpression preparedIndex = index.prepare(environment);
+		if (preparedMap == null || preparedIndex == null || !type.isPointer()) {
+			return null;
+		}
+
+		return new IInterpretedExpression() {
+			@Override
+			public Object evaluate(InterpreterFrame frame) {
+				Map<?, ?> value = (Map<?, ?>) preparedMap.evaluate(frame);
+				return value.get(preparedIndex.evaluate(frame));
+			}
+		};
+	}
 }
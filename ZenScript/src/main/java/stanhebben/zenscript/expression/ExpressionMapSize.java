@@ -8,6 +8,8 @@ package stanhebben.zenscript.expression;
 
 import java.util.Map;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.ZenTypeInt;
 import stanhebben.zenscript.util.ZenPosition;
@@ -38,4 +40,19 @@ public class ExpressionMapSize extends Expression {
 			environment.getOutput().invokeInterface(internal(Map.class), "size", "()I");
 		}
 	}
+
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		final IInterpretedExpression preparedMap = map.prepare(environment);
+		if (preparedMap == null) {
+			return null;
+		}
+
+		return new IInterpretedExpression() {
+			@Override
+			public Object evaluate(InterpreterFrame frame) {
+				return ((Map<?, ?>) preparedMap.evaluate(frame)).size();
+			}
+		};
+	}
 }
@@ -9,6 +9,8 @@ package stanhebben.zenscript.expression;
 import org.objectweb.asm.Label;
 import stanhebben.zenscript.compiler.IEnvironmentGlobal;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpretedConstant;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.ZenTypeNull;
 import stanhebben.zenscript.util.ZenPosition;
@@ -37,6 +39,11 @@ public class ExpressionNull extends Expression {
 		return ZenTypeNull.INSTANCE;
 	}
 
+	@Override
+	public boolean isConstant() {
+		return true;
+	}
+
 	@Override
 	public void compile(boolean result, IEnvironmentMethod environment) {
 		if (result) {
@@ -44,6 +51,11 @@ public class ExpressionNull extends Expression {
 		}
 	}
 
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		return new InterpretedConstant(null);
+	}
+
 	@Override
 	public void compileIf(Label onElse, IEnvironmentMethod environment) {
 		environment.getOutput().goTo(onElse);
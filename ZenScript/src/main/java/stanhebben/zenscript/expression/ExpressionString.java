@@ -7,6 +7,8 @@
 package stanhebben.zenscript.expression;
 
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpretedConstant;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.ZenTypeString;
 import stanhebben.zenscript.util.ZenPosition;
@@ -24,15 +26,29 @@ public class ExpressionString extends Expression {
 		this.value = value;
 	}
 
+	public String getValue() {
+		return value;
+	}
+
 	@Override
 	public ZenType getType() {
 		return ZenTypeString.INSTANCE;
 	}
 
+	@Override
+	public boolean isConstant() {
+		return true;
+	}
+
 	@Override
 	public void compile(boolean result, IEnvironmentMethod environment) {
 		if (result) {
 			environment.getOutput().constant(value);
 		}
 	}
+
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		return new InterpretedConstant(value);
+	}
 }
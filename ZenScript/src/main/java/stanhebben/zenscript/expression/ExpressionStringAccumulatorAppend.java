@@ -0,0 +1,44 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+
+package stanhebben.zenscript.expression;
+
+import java.util.List;
+import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.symbols.SymbolStringAccumulator;
+import stanhebben.zenscript.type.ZenType;
+import stanhebben.zenscript.util.ZenPosition;
+
+/**
+ * Appends values to a string variable which is being accumulated in a loop.
+ *
+ * @author Stan Hebben
+ */
+public class ExpressionStringAccumulatorAppend extends Expression {
+	private final SymbolStringAccumulator accumulator;
+	private final List<Expression> values;
+
+	public ExpressionStringAccumulatorAppend(ZenPosition position, SymbolStringAccumulator accumulator, List<Expression> values) {
+		super(position);
+
+		this.accumulator = accumulator;
+		this.values = values;
+	}
+
+	@Override
+	public ZenType getType() {
+		return ZenType.STRING;
+	}
+
+	@Override
+	public void compile(boolean result, IEnvironmentMethod environment) {
+		accumulator.compileAppend(values, environment);
+
+		if (result) {
+			accumulator.compileGet(environment);
+		}
+	}
+}
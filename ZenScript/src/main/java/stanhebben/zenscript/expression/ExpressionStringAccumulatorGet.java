@@ -0,0 +1,43 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+
+package stanhebben.zenscript.expression;
+
+import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.symbols.SymbolStringAccumulator;
+import stanhebben.zenscript.type.ZenType;
+import stanhebben.zenscript.util.ZenPosition;
+
+/**
+ * Reads a string variable which is being accumulated in a loop.
+ *
+ * @author Stan Hebben
+ */
+public class ExpressionStringAccumulatorGet extends Expression {
+	private final SymbolStringAccumulator accumulator;
+
+	public ExpressionStringAccumulatorGet(ZenPosition position, SymbolStringAccumulator accumulator) {
+		super(position);
+
+		this.accumulator = accumulator;
+	}
+
+	public SymbolStringAccumulator getAccumulator() {
+		return accumulator;
+	}
+
+	@Override
+	public ZenType getType() {
+		return ZenType.STRING;
+	}
+
+	@Override
+	public void compile(boolean result, IEnvironmentMethod environment) {
+		if (result) {
+			accumulator.compileGet(environment);
+		}
+	}
+}
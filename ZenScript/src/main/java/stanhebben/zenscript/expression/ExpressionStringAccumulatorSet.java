@@ -0,0 +1,39 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+
+package stanhebben.zenscript.expression;
+
+import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.symbols.SymbolStringAccumulator;
+import stanhebben.zenscript.type.ZenType;
+import stanhebben.zenscript.util.ZenPosition;
+
+/**
+ * Assigns a string variable which is being accumulated in a loop.
+ *
+ * @author Stan Hebben
+ */
+public class ExpressionStringAccumulatorSet extends Expression {
+	private final SymbolStringAccumulator accumulator;
+	private final Expression value;
+
+	public ExpressionStringAccumulatorSet(ZenPosition position, SymbolStringAccumulator accumulator, Expression value) {
+		super(position);
+
+		this.accumulator = accumulator;
+		this.value = value;
+	}
+
+	@Override
+	public ZenType getType() {
+		return ZenType.STRING;
+	}
+
+	@Override
+	public void compile(boolean result, IEnvironmentMethod environment) {
+		accumulator.compileSet(value, result, environment);
+	}
+}
@@ -6,8 +6,11 @@
 
 package stanhebben.zenscript.expression;
 
+import java.util.ArrayList;
 import java.util.List;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.ZenTypeString;
 import stanhebben.zenscript.util.MethodOutput;
@@ -30,13 +33,67 @@ public class ExpressionStringConcat extends Expression {
 		values.add(value);
 	}
 
+	public List<Expression> getValues() {
+		return values;
+	}
+
 	@Override
 	public ZenType getType() {
 		return ZenTypeString.INSTANCE;
 	}
 
+	@Override
+	public Expression optimize() {
+		List<Expression> optimizedValues = new ArrayList<Expression>();
+		boolean changed = false;
+
+		// merge adjacent string constants
+		StringBuilder constant = null;
+		ZenPosition constantPosition = null;
+		for (Expression value : values) {
+			Expression optimizedValue = value.optimize();
+			if (optimizedValue != value) {
+				changed = true;
+			}
+
+			if (optimizedValue instanceof ExpressionString) {
+				if (constant == null) {
+					constant = new StringBuilder();
+					constantPosition = optimizedValue.getPosition();
+				} else {
+					changed = true;
+				}
+				constant.append(((ExpressionString) optimizedValue).getValue());
+			} else {
+				if (constant != null) {
+					optimizedValues.add(new ExpressionString(constantPosition, constant.toString()));
+					constant = null;
+				}
+				optimizedValues.add(optimizedValue);
+			}
+		}
+
+		if (constant != null) {
+			optimizedValues.add(new ExpressionString(constantPosition, constant.toString()));
+		}
+
+		if (optimizedValues.size() == 1 && optimizedValues.get(0) instanceof ExpressionString) {
+			return optimizedValues.get(0);
+		} else if (changed) {
+			return new ExpressionStringConcat(getPosition(), optimizedValues);
+		} else {
+			return this;
+		}
+	}
+
 	@Override
 	public void compile(boolean result, IEnvironmentMethod environment) {
+		Expression optimized = optimize();
+		if (optimized != this) {
+			optimized.compile(result, environment);
+			return;
+		}
+
 		if (result) {
 			MethodOutput output = environment.getOutput();
 
@@ -59,4 +116,28 @@ public class ExpressionStringConcat extends Expression {
 			}
 		}
 	}
+
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		Expression optimized = optimize();
+		if (optimized != this) {
+			return optimized.prepare(environment);
+		}
+
+		final IInterpretedExpression[] preparedValues = prepare(environment, values.toArray(new Expression[values.size()]));
+		if (preparedValues == null) {
+			return null;
+		}
+
+		return new IInterpretedExpression() {
+			@Override
+			public Object evaluate(InterpreterFrame frame) {
+				StringBuilder result = new StringBuilder();
+				for (IInterpretedExpression value : preparedValues) {
+					result.append((String) value.evaluate(frame));
+				}
+				return result.toString();
+			}
+		};
+	}
 }
@@ -7,6 +7,8 @@
 package stanhebben.zenscript.expression;
 
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.util.ZenPosition;
 
@@ -42,4 +44,22 @@ public class ExpressionStringIndex extends Expression {
 			environment.getOutput().invokeVirtual(String.class, "substring", String.class, int.class, int.class);
 		}
 	}
+
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		final IInterpretedExpression preparedSource = source.prepare(environment);
+		final IInterpretedExpression preparedIndex = index.prepare(environment);
+		if (preparedSource == null || preparedIndex == null) {
+			return null;
+		}
+
+		return new IInterpretedExpression() {
+			@Override
+			public Object evaluate(InterpreterFrame frame) {
+				String value = (String) preparedSource.evaluate(frame);
+				int i = ((Number) preparedIndex.evaluate(frame)).intValue();
+				return value.substring(i, i + 1);
+			}
+		};
+	}
 }
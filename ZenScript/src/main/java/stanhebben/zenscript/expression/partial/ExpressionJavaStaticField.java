@@ -10,6 +10,8 @@ import java.lang.reflect.Field;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
 import stanhebben.zenscript.compiler.ITypeRegistry;
 import stanhebben.zenscript.expression.Expression;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.util.ZenPosition;
 
@@ -41,4 +43,18 @@ public class ExpressionJavaStaticField extends Expression {
 			environment.getOutput().getStaticField(cls, field);
 		}
 	}
+
+	@Override
+	public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+		return new IInterpretedExpression() {
+			@Override
+			public Object evaluate(InterpreterFrame frame) {
+				try {
+					return field.get(null);
+				} catch (IllegalAccessException ex) {
+					throw new IllegalAccessError(ex.getMessage());
+				}
+			}
+		};
+	}
 }
@@ -0,0 +1,88 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+
+package stanhebben.zenscript.expression.partial;
+
+import java.util.List;
+import stanhebben.zenscript.compiler.IEnvironmentGlobal;
+import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.expression.Expression;
+import stanhebben.zenscript.expression.ExpressionStringAccumulatorAppend;
+import stanhebben.zenscript.expression.ExpressionStringAccumulatorGet;
+import stanhebben.zenscript.expression.ExpressionStringAccumulatorSet;
+import stanhebben.zenscript.expression.ExpressionStringConcat;
+import stanhebben.zenscript.symbols.IZenSymbol;
+import stanhebben.zenscript.symbols.SymbolStringAccumulator;
+import stanhebben.zenscript.type.ZenType;
+import stanhebben.zenscript.util.ZenPosition;
+
+/**
+ * Partial expression for a string variable which is being accumulated in a
+ * loop. Assignments appending to the current value are turned into appends to
+ * the accumulator.
+ *
+ * @author Stan Hebben
+ */
+public class PartialStringAccumulator implements IPartialExpression {
+	private final ZenPosition position;
+	private final SymbolStringAccumulator accumulator;
+
+	public PartialStringAccumulator(ZenPosition position, SymbolStringAccumulator accumulator) {
+		this.position = position;
+		this.accumulator = accumulator;
+	}
+
+	@Override
+	public Expression eval(IEnvironmentGlobal environment) {
+		return new ExpressionStringAccumulatorGet(position, accumulator);
+	}
+
+	@Override
+	public IPartialExpression getMember(ZenPosition position, IEnvironmentGlobal environment, String name) {
+		return ZenType.STRING.getMember(position, environment, this, name);
+	}
+
+	@Override
+	public Expression assign(ZenPosition position, IEnvironmentGlobal environment, Expression other) {
+		// s ~= x is compiled as s = s ~ x
+		if (other instanceof ExpressionStringConcat) {
+			List<Expression> values = ((ExpressionStringConcat) other).getValues();
+			if (values.size() > 1
+					&& values.get(0) instanceof ExpressionStringAccumulatorGet
+					&& ((ExpressionStringAccumulatorGet) values.get(0)).getAccumulator() == accumulator) {
+				return new ExpressionStringAccumulatorAppend(position, accumulator, values.subList(1, values.size()));
+			}
+		}
+
+		return new ExpressionStringAccumulatorSet(position, accumulator, other);
+	}
+
+	@Override
+	public Expression call(ZenPosition position, IEnvironmentMethod environment, Expression... values) {
+		return ZenType.STRING.call(position, environment, eval(environment), values);
+	}
+
+	@Override
+	public ZenType[] predictCallTypes(int numArguments) {
+		return ZenType.STRING.predictCallTypes(numArguments);
+	}
+
+	@Override
+	public IZenSymbol toSymbol() {
+		return accumulator;
+	}
+
+	@Override
+	public ZenType getType() {
+		return ZenType.STRING;
+	}
+
+	@Override
+	public ZenType toType(IEnvironmentGlobal environment) {
+		environment.error(position, "not a valid type");
+		return ZenType.ANY;
+	}
+}
@@ -0,0 +1,194 @@
+package stanhebben.zenscript.interpreter;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import stanhebben.zenscript.IZenCompileEnvironment;
+import stanhebben.zenscript.TypeExpansion;
+import stanhebben.zenscript.compiler.ClassConstants;
+import stanhebben.zenscript.compiler.IEnvironmentClass;
+import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.expression.partial.IPartialExpression;
+import stanhebben.zenscript.symbols.IZenSymbol;
+import stanhebben.zenscript.symbols.SymbolLocal;
+import stanhebben.zenscript.type.ZenType;
+import stanhebben.zenscript.util.MethodOutput;
+import stanhebben.zenscript.util.ZenPosition;
+
+/**
+ * Method environment used while preparing a script body for the interpreter.
+ * Local variables are numbered frame slots instead of JVM locals; code output
+ * goes nowhere.
+ *
+ * If a statement turns out to be unsupported, the script body is compiled
+ * instead, so errors, warnings and generated classes are held back until
+ * the preparation has succeeded (see commit).
+ *
+ * @author Stan Hebben
+ */
+public class EnvironmentInterpreter implements IEnvironmentMethod {
+	private final IEnvironmentClass environment;
+	private final MethodOutput output;
+	private final Map<SymbolLocal, Integer> locals;
+	private final Map<String, IZenSymbol> local;
+
+	private final List<Message> messages;
+	private final Map<String, byte[]> classes;
+
+	public EnvironmentInterpreter(IEnvironmentClass environment) {
+		this.environment = environment;
+		this.output = new MethodOutput(new ClassWriter(0), Opcodes.ACC_STATIC, "__interpreted__", "()V", null, null);
+		this.locals = new HashMap<SymbolLocal, Integer>();
+		this.local = new HashMap<String, IZenSymbol>();
+
+		this.messages = new ArrayList<Message>();
+		this.classes = new LinkedHashMap<String, byte[]>();
+	}
+
+	/**
+	 * Returns the number of frame slots needed by the prepared statements.
+	 *
+	 * @return number of local variables
+	 */
+	public int getNumLocals() {
+		return locals.size();
+	}
+
+	/**
+	 * Passes on the errors, warnings and classes collected while preparing.
+	 */
+	public void commit() {
+		for (Message message : messages) {
+			if (message.error) {
+				environment.error(message.position, message.message);
+			} else {
+				environment.warning(message.position, message.message);
+			}
+		}
+		for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+			environment.putClass(entry.getKey(), entry.getValue());
+		}
+
+		messages.clear();
+		classes.clear();
+	}
+
+	@Override
+	public MethodOutput getOutput() {
+		return output;
+	}
+
+	@Override
+	public int getLocal(SymbolLocal variable) {
+		Integer result = locals.get(variable);
+		if (result == null) {
+			result = locals.size();
+			locals.put(variable, result);
+		}
+		return result;
+	}
+
+	@Override
+	public ClassVisitor getClassOutput() {
+		return environment.getClassOutput();
+	}
+
+	@Override
+	public ClassConstants getConstants() {
+		return environment.getConstants();
+	}
+
+	@Override
+	public ZenType getType(Type type) {
+		return environment.getType(type);
+	}
+
+	@Override
+	public void error(ZenPosition position, String message) {
+		messages.add(new Message(true, position, message));
+	}
+
+	@Override
+	public void warning(ZenPosition position, String message) {
+		messages.add(new Message(false, position, message));
+	}
+
+	@Override
+	public IZenCompileEnvironment getEnvironment() {
+		return environment.getEnvironment();
+	}
+
+	@Override
+	public TypeExpansion getExpansion(String name) {
+		return environment.getExpansion(name);
+	}
+
+	@Override
+	public String makeClassName() {
+		return environment.makeClassName();
+	}
+
+	@Override
+	public boolean containsClass(String name) {
+		return classes.containsKey(name) || environment.containsClass(name);
+	}
+
+	@Override
+	public Set<String> getClassNames() {
+		Set<String> result = new HashSet<String>(environment.getClassNames());
+		result.addAll(classes.keySet());
+		return result;
+	}
+
+	@Override
+	public byte[] getClass(String name) {
+		return classes.containsKey(name) ? classes.get(name) : environment.getClass(name);
+	}
+
+	@Override
+	public void putClass(String name, byte[] data) {
+		classes.put(name, data);
+	}
+
+	@Override
+	public IPartialExpression getValue(String name, ZenPosition position) {
+		if (local.containsKey(name)) {
+			return local.get(name).instance(position);
+		} else {
+			return environment.getValue(name, position);
+		}
+	}
+
+	@Override
+	public void putValue(String name, IZenSymbol value, ZenPosition position) {
+		if (local.containsKey(name)) {
+			error(position, "Value already defined in this scope: " + name);
+		} else {
+			local.put(name, value);
+		}
+	}
+
+	// #############################
+	// ### Private inner classes ###
+	// #############################
+
+	private static class Message {
+		private final boolean error;
+		private final ZenPosition position;
+		private final String message;
+
+		public Message(boolean error, ZenPosition position, String message) {
+			this.error = error;
+			this.position = position;
+			this.message = message;
+		}
+	}
+}
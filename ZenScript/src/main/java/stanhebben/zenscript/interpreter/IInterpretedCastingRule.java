@@ -0,0 +1,10 @@
+package stanhebben.zenscript.interpreter;
+
+/**
+ * Casting rule prepared for the interpreter.
+ *
+ * @author Stan Hebben
+ */
+public interface IInterpretedCastingRule {
+	public Object cast(InterpreterFrame frame, Object value);
+}
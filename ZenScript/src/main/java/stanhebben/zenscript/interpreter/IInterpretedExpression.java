@@ -0,0 +1,11 @@
+package stanhebben.zenscript.interpreter;
+
+/**
+ * Expression prepared for the interpreter. Values are represented by their
+ * Java objects, with primitive values boxed (an int is an Integer).
+ *
+ * @author Stan Hebben
+ */
+public interface IInterpretedExpression {
+	public Object evaluate(InterpreterFrame frame);
+}
@@ -0,0 +1,19 @@
+package stanhebben.zenscript.interpreter;
+
+import java.util.Iterator;
+
+/**
+ * Iterator prepared for the interpreter.
+ *
+ * @author Stan Hebben
+ */
+public interface IInterpretedIterator {
+	/**
+	 * Starts iterating over the given value. Each iteration returns the values
+	 * of the loop variables, in order.
+	 *
+	 * @param value value to iterate over
+	 * @return loop variable values
+	 */
+	public Iterator<Object[]> iterate(Object value);
+}
@@ -0,0 +1,16 @@
+package stanhebben.zenscript.interpreter;
+
+/**
+ * Statement prepared for the interpreter.
+ *
+ * @author Stan Hebben
+ */
+public interface IInterpretedStatement {
+	/**
+	 * Executes this statement.
+	 *
+	 * @param frame current frame
+	 * @return true if a return statement was executed
+	 */
+	public boolean execute(InterpreterFrame frame);
+}
@@ -0,0 +1,19 @@
+package stanhebben.zenscript.interpreter;
+
+/**
+ * Interpreted expression with a fixed value.
+ *
+ * @author Stan Hebben
+ */
+public class InterpretedConstant implements IInterpretedExpression {
+	private final Object value;
+
+	public InterpretedConstant(Object value) {
+		this.value = value;
+	}
+
+	@Override
+	public Object evaluate(InterpreterFrame frame) {
+		return value;
+	}
+}
@@ -0,0 +1,164 @@
+package stanhebben.zenscript.interpreter;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import org.objectweb.asm.Type;
+import stanhebben.zenscript.ZenRuntimeException;
+import stanhebben.zenscript.type.natives.IJavaMethod;
+import stanhebben.zenscript.type.natives.JavaMethod;
+import stanhebben.zenscript.type.natives.JavaMethodGenerated;
+
+/**
+ * Execution state of an interpreted script body. Contains the local variables
+ * and the values of the class constants used by the script. Generated classes
+ * (script functions and function literals) are loaded from the class loader of
+ * the module.
+ *
+ * @author Stan Hebben
+ */
+public class InterpreterFrame {
+	private final ClassLoader classLoader;
+	private final Object[] locals;
+	private final Map<String, Object> constants;
+	private final Map<IJavaMethod, Method> methods;
+
+	public InterpreterFrame(ClassLoader classLoader, int numLocals) {
+		this.classLoader = classLoader;
+		this.locals = new Object[numLocals];
+		this.constants = new HashMap<String, Object>();
+		this.methods = new HashMap<IJavaMethod, Method>();
+	}
+
+	public Object getLocal(int index) {
+		return locals[index];
+	}
+
+	public void setLocal(int index, Object value) {
+		locals[index] = value;
+	}
+
+	/**
+	 * Retrieves the value of a static final field, such as a class constant.
+	 * The value is read only once.
+	 *
+	 * @param owner internal name of the class containing the field
+	 * @param name field name
+	 * @return field value
+	 */
+	public Object getStaticField(String owner, String name) {
+		String key = owner + '.' + name;
+		if (constants.containsKey(key)) {
+			return constants.get(key);
+		}
+
+		try {
+			Object result = loadClass(owner).getField(name).get(null);
+			constants.put(key, result);
+			return result;
+		} catch (NoSuchFieldException ex) {
+			throw new ZenRuntimeException("Field not found: " + key);
+		} catch (IllegalAccessException ex) {
+			throw new IllegalAccessError(ex.getMessage());
+		}
+	}
+
+	/**
+	 * Loads a generated class.
+	 *
+	 * @param internalName internal class name
+	 * @return loaded class
+	 */
+	public Class<?> loadClass(String internalName) {
+		try {
+			return Class.forName(internalName.replace('/', '.'), true, classLoader);
+		} catch (ClassNotFoundException ex) {
+			throw new ZenRuntimeException("Class not found: " + internalName);
+		}
+	}
+
+	/**
+	 * Creates an instance of a generated class, such as a function literal.
+	 *
+	 * @param internalName internal class name
+	 * @return new instance
+	 */
+	public Object newInstance(String internalName) {
+		try {
+			return loadClass(internalName).getConstructor().newInstance();
+		} catch (InvocationTargetException ex) {
+			throw unwrap(ex);
+		} catch (NoSuchMethodException ex) {
+			throw new ZenRuntimeException("Could not instantiate " + internalName);
+		} catch (InstantiationException ex) {
+			throw new ZenRuntimeException("Could not instantiate " + internalName);
+		} catch (IllegalAccessException ex) {
+			throw new ZenRuntimeException("Could not instantiate " + internalName);
+		}
+	}
+
+	/**
+	 * Invokes a method. Exceptions thrown by the method are passed on as they
+	 * would be by compiled code.
+	 *
+	 * @param method method to invoke
+	 * @param receiver method receiver, or null for static methods
+	 * @param arguments method arguments
+	 * @return method result, or null for void methods
+	 */
+	public Object invoke(IJavaMethod method, Object receiver, Object... arguments) {
+		Method javaMethod = methods.get(method);
+		if (javaMethod == null) {
+			javaMethod = resolve(method);
+			methods.put(method, javaMethod);
+		}
+
+		try {
+			return javaMethod.invoke(receiver, arguments);
+		} catch (InvocationTargetException ex) {
+			throw unwrap(ex);
+		} catch (IllegalAccessException ex) {
+			throw new IllegalAccessError(ex.getMessage());
+		}
+	}
+
+	/**
+	 * Rethrows the exception thrown by a reflectively invoked method.
+	 *
+	 * @param ex invocation exception
+	 * @return never returns normally
+	 */
+	public static RuntimeException unwrap(InvocationTargetException ex) {
+		Throwable cause = ex.getCause();
+		if (cause instanceof RuntimeException) {
+			throw (RuntimeException) cause;
+		} else if (cause instanceof Error) {
+			throw (Error) cause;
+		} else {
+			throw new RuntimeException(cause);
+		}
+	}
+
+	// #######################
+	// ### Private methods ###
+	// #######################
+
+	private Method resolve(IJavaMethod method) {
+		if (method instanceof JavaMethod) {
+			return ((JavaMethod) method).getMethod();
+		} else if (method instanceof JavaMethodGenerated) {
+			JavaMethodGenerated generated = (JavaMethodGenerated) method;
+			for (Method candidate : loadClass(generated.getOwner()).getMethods()) {
+				if (candidate.getName().equals(generated.getName())
+						&& Type.getMethodDescriptor(candidate).equals(generated.getDescriptor())) {
+					return candidate;
+				}
+			}
+
+			throw new ZenRuntimeException("Method not found: " + generated.getOwner() + "." + generated.getName());
+		} else {
+			throw new ZenRuntimeException("Cannot invoke " + method);
+		}
+	}
+}
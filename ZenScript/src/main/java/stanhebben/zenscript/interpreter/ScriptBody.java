@@ -0,0 +1,75 @@
+package stanhebben.zenscript.interpreter;
+
+import java.lang.reflect.InvocationTargetException;
+import stanhebben.zenscript.ZenRuntimeException;
+
+/**
+ * Top-level statements of a script. Bodies are either compiled into the
+ * __script__ method of the script class, or prepared for the interpreter.
+ *
+ * @author Stan Hebben
+ */
+public class ScriptBody {
+	private final String className;
+	private final IInterpretedStatement[] statements;
+	private final int numLocals;
+
+	/**
+	 * Creates a compiled script body.
+	 *
+	 * @param className script class name
+	 */
+	public ScriptBody(String className) {
+		this.className = className;
+		this.statements = null;
+		this.numLocals = 0;
+	}
+
+	/**
+	 * Creates an interpreted script body.
+	 *
+	 * @param className script class name
+	 * @param statements prepared statements
+	 * @param numLocals number of local variables
+	 */
+	public ScriptBody(String className, IInterpretedStatement[] statements, int numLocals) {
+		this.className = className;
+		this.statements = statements;
+		this.numLocals = numLocals;
+	}
+
+	public String getClassName() {
+		return className;
+	}
+
+	public boolean isInterpreted() {
+		return statements != null;
+	}
+
+	/**
+	 * Executes this script body.
+	 *
+	 * @param classLoader class loader of the module
+	 */
+	public void run(ClassLoader classLoader) {
+		InterpreterFrame frame = new InterpreterFrame(classLoader, numLocals);
+
+		if (statements == null) {
+			try {
+				frame.loadClass(className.replace('.', '/')).getMethod("__script__").invoke(null);
+			} catch (NoSuchMethodException ex) {
+				throw new ZenRuntimeException("Script method not found in " + className);
+			} catch (IllegalAccessException ex) {
+				throw new ZenRuntimeException("Cannot access script method of " + className);
+			} catch (InvocationTargetException ex) {
+				throw InterpreterFrame.unwrap(ex);
+			}
+		} else {
+			for (IInterpretedStatement statement : statements) {
+				if (statement.execute(frame)) {
+					break;
+				}
+			}
+		}
+	}
+}
@@ -19,9 +19,18 @@ import static java.util.Arrays.sort;
 public class CompiledDFA {
 	public static final int NOFINAL = Integer.MIN_VALUE;
 
+	/**
+	 * Number of columns per state in the transition table. Column 0 is the end
+	 * of input (-1), columns 1 to 128 are the ASCII characters and the last
+	 * column is NFA.UNICODE_ESCAPE.
+	 */
+	public static final int TABLE_WIDTH = 130;
+
 	public HashMapII[] transitions;
 	public int[] finals;
 
+	private volatile int[] table = null;
+
 	/**
 	 * Constructs a compiled DFA from the specified transition graph and finals
 	 * arrays.
@@ -94,8 +103,8 @@ public class CompiledDFA {
 			sort(keys);
 			for (int j = 0; j < keys.length; j++) {
 				int from = j;
-				int state = transitions[i].get(j);
-				while (j + 1 < keys.length && keys[j + 1] == keys[j] + 1 && transitions[i].get(j + 1) == state)
+				int state = transitions[i].get(keys[j]);
+				while (j + 1 < keys.length && keys[j + 1] == keys[j] + 1 && transitions[i].get(keys[j + 1]) == state)
 					j++;
 				if (j == from) {
 					singles.add(keys[j]);
@@ -120,6 +129,46 @@ public class CompiledDFA {
 		return result.toArray();
 	}
 
+	/**
+	 * Returns the transitions as a dense table. The next state for a given
+	 * state and character is found at state * TABLE_WIDTH + column(character),
+	 * and is -1 if there is no transition.
+	 *
+	 * @return transition table
+	 */
+	public int[] getTable() {
+		int[] result = table;
+		if (result == null) {
+			result = new int[transitions.length * TABLE_WIDTH];
+			for (int i = 0; i < result.length; i++) {
+				result[i] = -1;
+			}
+
+			for (int i = 0; i < transitions.length; i++) {
+				for (int key : transitions[i].keysArray()) {
+					if (key < 128 || key == NFA.UNICODE_ESCAPE) {
+						result[i * TABLE_WIDTH + column(key)] = transitions[i].get(key);
+					}
+				}
+			}
+
+			table = result;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Determines the transition table column for a given character. Characters
+	 * outside the ASCII range all map to the NFA.UNICODE_ESCAPE column.
+	 *
+	 * @param ch character, or -1 for the end of input
+	 * @return table column
+	 */
+	public static int column(int ch) {
+		return ch > 127 ? TABLE_WIDTH - 1 : ch + 1;
+	}
+
 	/* Used for debugging */
 	@Override
 	public String toString() {
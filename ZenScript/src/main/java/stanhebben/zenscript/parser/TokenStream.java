@@ -7,10 +7,10 @@ package stanhebben.zenscript.parser;
 
 import java.io.IOException;
 import java.io.Reader;
-import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.Stack;
+import java.util.List;
 import stanhebben.zenscript.ZenParsedFile;
 import stanhebben.zenscript.util.ZenPosition;
 
@@ -18,6 +18,9 @@ import stanhebben.zenscript.util.ZenPosition;
  * Represents a token stream. A token stream reads characters from a reader and
  * presents it as a series of tokens.
  *
+ * The input is read completely upon construction and scanned using the dense
+ * transition table of the DFA.
+ *
  * Token classes with a negative class are considered to be whitespace.
  *
  * @author Stan Hebben
@@ -25,16 +28,22 @@ import stanhebben.zenscript.util.ZenPosition;
 public class TokenStream implements Iterator<Token> {
 	private ZenParsedFile file;
 
-	private CountingReader reader;
+	private final char[] data;
+	private int position;
+	private int readerLine;
+	private int readerLineOffset;
+
 	private CompiledDFA dfa;
+	private int[] table;
 	private Token next;
 	private int nextChar;
 	private int line;
 	private int lineOffset;
 
 	private int tokenMemoryOffset;
-	private LinkedList<Token> tokenMemory;
-	private Stack<Integer> marks;
+	private List<Token> tokenMemory;
+	private int[] marks;
+	private int numMarks;
 	private int tokenMemoryCurrent;
 
 	/**
@@ -45,17 +54,7 @@ public class TokenStream implements Iterator<Token> {
 	 * @throws IOException
 	 */
 	public TokenStream(Reader reader, CompiledDFA dfa) throws IOException {
-		tokenMemoryOffset = 0;
-		tokenMemoryCurrent = 0;
-		tokenMemory = new LinkedList<Token>();
-		marks = new Stack<Integer>();
-
-		this.reader = new CountingReader(reader);
-		this.dfa = dfa;
-		nextChar = this.reader.read();
-		line = 1;
-		lineOffset = 1;
-		advance();
+		this(readFully(reader), dfa);
 	}
 
 	/**
@@ -66,7 +65,34 @@ public class TokenStream implements Iterator<Token> {
 	 * @throws IOException
 	 */
 	public TokenStream(String data, CompiledDFA dfa) throws IOException {
-		this(new StringReader(data), dfa);
+		this(data.toCharArray(), dfa);
+	}
+
+	/**
+	 * Creates a token stream which reads data from the specified character
+	 * array.
+	 *
+	 * @param data data to read
+	 * @param dfa DFA to tokenize the stream
+	 */
+	public TokenStream(char[] data, CompiledDFA dfa) {
+		tokenMemoryOffset = 0;
+		tokenMemoryCurrent = 0;
+		tokenMemory = new ArrayList<Token>();
+		marks = new int[8];
+		numMarks = 0;
+
+		this.data = data;
+		position = 0;
+		readerLine = 1;
+		readerLineOffset = 1;
+
+		this.dfa = dfa;
+		table = dfa.getTable();
+		nextChar = read();
+		line = 1;
+		lineOffset = 1;
+		advance();
 	}
 
 	public void setFile(ZenParsedFile file) {
@@ -120,16 +146,20 @@ public class TokenStream implements Iterator<Token> {
 	 * Pushes a mark on the mark stack.
 	 */
 	public void pushMark() {
-		marks.push(tokenMemoryCurrent);
+		if (numMarks == marks.length) {
+			marks = Arrays.copyOf(marks, marks.length * 2);
+		}
+
+		marks[numMarks++] = tokenMemoryCurrent;
 	}
 
 	/**
 	 * Pops a mark from the mark stack without reset.
 	 */
 	public void popMark() {
-		marks.pop();
+		numMarks--;
 
-		if (marks.isEmpty()) {
+		if (numMarks == 0) {
 			tokenMemoryOffset = tokenMemoryCurrent;
 			tokenMemory.clear();
 		}
@@ -139,7 +169,7 @@ public class TokenStream implements Iterator<Token> {
 	 * Pops a mark from the mark stack and resets the stream's position to it
 	 */
 	public void reset() {
-		tokenMemoryCurrent = marks.pop();
+		tokenMemoryCurrent = marks[--numMarks];
 	}
 
 	// //////////////////////////
@@ -156,7 +186,7 @@ public class TokenStream implements Iterator<Token> {
 		} else {
 			Token result = next;
 
-			if (marks.isEmpty()) {
+			if (numMarks == 0) {
 				tokenMemoryOffset++;
 			} else {
 				tokenMemory.add(result);
@@ -207,74 +237,83 @@ public class TokenStream implements Iterator<Token> {
 			next = null;
 			return;
 		}
-		try {
-			int state = 0;
-			StringBuilder value = new StringBuilder();
-			int tLine = line;
-			int tLineOffset = lineOffset;
-			int _fakeNextChar = nextChar > 127 ? NFA.UNICODE_ESCAPE : nextChar;
-			while (dfa.transitions[state].containsKey(_fakeNextChar)) {
-				if (nextChar < 0)
-					value.append((char) nextChar);
-				else
-					value.appendCodePoint(nextChar);
-				state = dfa.transitions[state].get(_fakeNextChar);
-				line = reader.line;
-				lineOffset = reader.lineOffset;
-				nextChar = reader.read();
-				_fakeNextChar = nextChar > 127 ? NFA.UNICODE_ESCAPE : nextChar;
-			}
 
-			if (line < 0)
-				throw new IllegalStateException("Line cannot be negative");
+		int state = 0;
+		int start = position - 1;
+		boolean endOfInput = false;
+		int tLine = line;
+		int tLineOffset = lineOffset;
+
+		int nextState = table[CompiledDFA.column(nextChar)];
+		while (nextState >= 0) {
+			if (nextChar < 0)
+				endOfInput = true;
+
+			state = nextState;
+			line = readerLine;
+			lineOffset = readerLineOffset;
+			nextChar = read();
+			nextState = table[state * CompiledDFA.TABLE_WIDTH + CompiledDFA.column(nextChar)];
+		}
 
-			if (dfa.finals[state] != CompiledDFA.NOFINAL) {
-				if (state == 0)
-					throw new TokenException(file, line, lineOffset, (char) nextChar);
-				next = process(new Token(value.toString(), dfa.finals[state], new ZenPosition(file, tLine, tLineOffset)));
-			} else {
-				if (nextChar < 0 && value.length() == 0) {
-					return; // happens on comments at the end of files
-				}
+		if (line < 0)
+			throw new IllegalStateException("Line cannot be negative");
+
+		int end = nextChar < 0 ? position : position - 1;
+
+		if (dfa.finals[state] != CompiledDFA.NOFINAL) {
+			if (state == 0)
 				throw new TokenException(file, line, lineOffset, (char) nextChar);
+
+			String value = new String(data, start, end - start);
+			if (endOfInput)
+				value += (char) -1;
+
+			next = process(new Token(value, dfa.finals[state], new ZenPosition(file, tLine, tLineOffset)));
+		} else {
+			if (nextChar < 0 && end == start && !endOfInput) {
+				return; // happens on comments at the end of files
 			}
-		} catch (IOException ex) {
-			ex.printStackTrace();
+			throw new TokenException(file, line, lineOffset, (char) nextChar);
 		}
 	}
 
-	// ////////////////////////
-	// Private inner classes
-	// ////////////////////////
-
 	/**
-	 * Keeps a line and line offset count.
+	 * Reads the next character, keeping a line and line offset count.
+	 *
+	 * @return next character, or -1 at the end of input
 	 */
-	private class CountingReader {
-		private int line;
-		private int lineOffset;
-		private Reader reader;
-		private boolean eof;
-
-		public CountingReader(Reader reader) {
-			this.reader = reader;
-			line = 1;
-			lineOffset = 1;
+	private int read() {
+		if (position >= data.length) {
+			return -1;
 		}
 
-		public int read() throws IOException {
-			int ch = reader.read();
-			if (ch == -1) {
-				eof = true;
-				return ch;
-			}
-			if (ch == '\n') {
-				line++;
-				lineOffset = 1;
-			} else {
-				lineOffset++;
+		char ch = data[position++];
+		if (ch == '\n') {
+			readerLine++;
+			readerLineOffset = 1;
+		} else {
+			readerLineOffset++;
+		}
+		return ch;
+	}
+
+	// //////////////////////////
+	// Private static methods
+	// //////////////////////////
+
+	private static char[] readFully(Reader reader) throws IOException {
+		char[] buffer = new char[4096];
+		int length = 0;
+
+		int read;
+		while ((read = reader.read(buffer, length, buffer.length - length)) >= 0) {
+			length += read;
+			if (length == buffer.length) {
+				buffer = Arrays.copyOf(buffer, buffer.length * 2);
 			}
-			return ch;
 		}
+
+		return length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
 	}
 }
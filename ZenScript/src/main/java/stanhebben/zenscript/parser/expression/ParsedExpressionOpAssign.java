@@ -30,6 +30,14 @@ public class ParsedExpressionOpAssign extends ParsedExpression {
 		this.operator = operator;
 	}
 
+	public ParsedExpression getLeft() {
+		return left;
+	}
+
+	public OperatorType getOperator() {
+		return operator;
+	}
+
 	@Override
 	public IPartialExpression compile(IEnvironmentMethod environment, ZenType predictedType) {
 		// TODO: validate if the prediction rules are sound
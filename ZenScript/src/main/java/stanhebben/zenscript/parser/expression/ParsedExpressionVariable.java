@@ -27,6 +27,10 @@ public class ParsedExpressionVariable extends ParsedExpression {
 		this.name = name;
 	}
 
+	public String getName() {
+		return name;
+	}
+
 	@Override
 	public IPartialExpression compile(IEnvironmentMethod environment, ZenType predictedType) {
 		IPartialExpression result = environment.getValue(name, getPosition());
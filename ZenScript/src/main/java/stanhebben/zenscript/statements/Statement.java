@@ -7,6 +7,7 @@ import stanhebben.zenscript.ZenTokener;
 import static stanhebben.zenscript.ZenTokener.*;
 import stanhebben.zenscript.compiler.IEnvironmentGlobal;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedStatement;
 import stanhebben.zenscript.parser.Token;
 import stanhebben.zenscript.parser.expression.ParsedExpression;
 import stanhebben.zenscript.type.ZenType;
@@ -109,5 +110,26 @@ public abstract class Statement {
 		return false;
 	}
 
+	/**
+	 * Checks if this statement is or contains a return statement.
+	 *
+	 * @return true if this statement can return
+	 */
+	public boolean containsReturn() {
+		return false;
+	}
+
 	public abstract void compile(IEnvironmentMethod environment);
+
+	/**
+	 * Prepares this statement for the interpreter. Statements that are not
+	 * supported by the interpreter return null; the code containing them is
+	 * compiled instead.
+	 *
+	 * @param environment method environment
+	 * @return interpreted statement, or null if not supported
+	 */
+	public IInterpretedStatement prepare(IEnvironmentMethod environment) {
+		return null;
+	}
 }
@@ -3,6 +3,8 @@ package stanhebben.zenscript.statements;
 import java.util.List;
 import stanhebben.zenscript.compiler.EnvironmentScope;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedStatement;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.util.ZenPosition;
 
 public class StatementBlock extends Statement {
@@ -14,6 +16,20 @@ public class StatementBlock extends Statement {
 		this.statements = statements;
 	}
 
+	public List<Statement> getStatements() {
+		return statements;
+	}
+
+	@Override
+	public boolean containsReturn() {
+		for (Statement statement : statements) {
+			if (statement.containsReturn()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public void compile(IEnvironmentMethod environment) {
 		IEnvironmentMethod local = new EnvironmentScope(environment);
@@ -24,4 +40,28 @@ public class StatementBlock extends Statement {
 			}
 		}
 	}
+
+	@Override
+	public IInterpretedStatement prepare(IEnvironmentMethod environment) {
+		IEnvironmentMethod local = new EnvironmentScope(environment);
+		final IInterpretedStatement[] prepared = new IInterpretedStatement[statements.size()];
+		for (int i = 0; i < prepared.length; i++) {
+			prepared[i] = statements.get(i).prepare(local);
+			if (prepared[i] == null) {
+				return null;
+			}
+		}
+
+		return new IInterpretedStatement() {
+			@Override
+			public boolean execute(InterpreterFrame frame) {
+				for (IInterpretedStatement statement : prepared) {
+					if (statement.execute(frame)) {
+						return true;
+					}
+				}
+				return false;
+			}
+		};
+	}
 }
@@ -1,6 +1,9 @@
 package stanhebben.zenscript.statements;
 
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.IInterpretedStatement;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.parser.expression.ParsedExpression;
 import stanhebben.zenscript.util.ZenPosition;
 
@@ -13,6 +16,10 @@ public class StatementExpression extends Statement {
 		this.expression = expression;
 	}
 
+	public ParsedExpression getExpression() {
+		return expression;
+	}
+
 	@Override
 	public void compile(IEnvironmentMethod environment) {
 		environment.getOutput().position(getPosition());
@@ -20,4 +27,22 @@ public class StatementExpression extends Statement {
 			.eval(environment)
 			.compile(false, environment);
 	}
+
+	@Override
+	public IInterpretedStatement prepare(IEnvironmentMethod environment) {
+		final IInterpretedExpression prepared = expression.compile(environment, null)
+			.eval(environment)
+			.prepare(environment);
+		if (prepared == null) {
+			return null;
+		}
+
+		return new IInterpretedStatement() {
+			@Override
+			public boolean execute(InterpreterFrame frame) {
+				prepared.evaluate(frame);
+				return false;
+			}
+		};
+	}
 }
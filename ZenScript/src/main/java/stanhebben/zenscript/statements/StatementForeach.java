@@ -1,13 +1,30 @@
 package stanhebben.zenscript.statements;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import org.objectweb.asm.Label;
+import stanhebben.zenscript.annotations.OperatorType;
 import stanhebben.zenscript.compiler.EnvironmentScope;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
 import stanhebben.zenscript.expression.Expression;
+import stanhebben.zenscript.expression.partial.IPartialExpression;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.IInterpretedIterator;
+import stanhebben.zenscript.interpreter.IInterpretedStatement;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.parser.expression.ParsedExpression;
+import stanhebben.zenscript.parser.expression.ParsedExpressionOpAssign;
+import stanhebben.zenscript.parser.expression.ParsedExpressionVariable;
 import stanhebben.zenscript.type.IZenIterator;
 import stanhebben.zenscript.type.ZenType;
+import stanhebben.zenscript.symbols.IZenSymbol;
 import stanhebben.zenscript.symbols.SymbolLocal;
+import stanhebben.zenscript.symbols.SymbolStringAccumulator;
 import stanhebben.zenscript.util.MethodOutput;
 import stanhebben.zenscript.util.ZenPosition;
 
@@ -24,6 +41,11 @@ public class StatementForeach extends Statement {
 		this.body = body;
 	}
 
+	@Override
+	public boolean containsReturn() {
+		return body.containsReturn();
+	}
+
 	@Override
 	public void compile(IEnvironmentMethod environment) {
 		Expression cList = list.compile(environment, ZenType.ANYARRAY).eval(environment);
@@ -46,6 +68,21 @@ public class StatementForeach extends Statement {
 			localVariables[i] = local.getLocal(localVar);
 		}
 
+		List<SymbolStringAccumulator> accumulators = new ArrayList<SymbolStringAccumulator>();
+		for (String name : getAppendedVariables()) {
+			IPartialExpression value = environment.getValue(name, getPosition());
+			IZenSymbol symbol = value == null ? null : value.toSymbol();
+			if (symbol instanceof SymbolLocal
+					&& !((SymbolLocal) symbol).isFinal()
+					&& ((SymbolLocal) symbol).getType() == ZenType.STRING) {
+				int builder = methodOutput.local(StringBuilder.class);
+				SymbolStringAccumulator accumulator = new SymbolStringAccumulator(getPosition(), (SymbolLocal) symbol, builder);
+				local.putValue(name, accumulator, getPosition());
+				accumulator.compileStart(environment);
+				accumulators.add(accumulator);
+			}
+		}
+
 		cList.compile(true, environment);
 		iterator.compileStart(localVariables);
 
@@ -58,5 +95,89 @@ public class StatementForeach extends Statement {
 		iterator.compilePostIterate(localVariables, exit, repeat);
 		methodOutput.label(exit);
 		iterator.compileEnd();
+
+		for (SymbolStringAccumulator accumulator : accumulators) {
+			accumulator.compileEnd(environment);
+		}
+	}
+
+	@Override
+	public IInterpretedStatement prepare(IEnvironmentMethod environment) {
+		Expression cList = list.compile(environment, ZenType.ANYARRAY).eval(environment);
+		ZenType listType = cList.getType();
+
+		IZenIterator iterator = listType.makeIterator(varnames.length, environment);
+		if (iterator == null) {
+			return null;
+		}
+
+		final IInterpretedIterator preparedIterator = iterator.prepare();
+		final IInterpretedExpression preparedList = cList.prepare(environment);
+		if (preparedIterator == null || preparedList == null) {
+			return null;
+		}
+
+		IEnvironmentMethod local = new EnvironmentScope(environment);
+		final int[] localVariables = new int[varnames.length];
+		for (int i = 0; i < localVariables.length; i++) {
+			SymbolLocal localVar = new SymbolLocal(iterator.getType(i), true);
+			local.putValue(varnames[i], localVar, getPosition());
+			localVariables[i] = local.getLocal(localVar);
+		}
+
+		final IInterpretedStatement preparedBody = body.prepare(local);
+		if (preparedBody == null) {
+			return null;
+		}
+
+		return new IInterpretedStatement() {
+			@Override
+			public boolean execute(InterpreterFrame frame) {
+				Iterator<Object[]> values = preparedIterator.iterate(preparedList.evaluate(frame));
+				while (values.hasNext()) {
+					Object[] current = values.next();
+					for (int i = 0; i < localVariables.length; i++) {
+						frame.setLocal(localVariables[i], current[i]);
+					}
+
+					if (preparedBody.execute(frame)) {
+						return true;
+					}
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Finds the variables which are appended to by the statements directly in
+	 * the loop body. If they are string variables, the appended values are
+	 * collected in a StringBuilder instead of copying the string every time.
+	 */
+	private Set<String> getAppendedVariables() {
+		List<Statement> statements = body instanceof StatementBlock
+				? ((StatementBlock) body).getStatements()
+				: Collections.singletonList(body);
+
+		Set<String> result = new LinkedHashSet<String>();
+		for (Statement statement : statements) {
+			if (!(statement instanceof StatementExpression)) {
+				continue;
+			}
+
+			ParsedExpression expression = ((StatementExpression) statement).getExpression();
+			if (!(expression instanceof ParsedExpressionOpAssign)) {
+				continue;
+			}
+
+			ParsedExpressionOpAssign assignment = (ParsedExpressionOpAssign) expression;
+			if ((assignment.getOperator() == OperatorType.CAT || assignment.getOperator() == OperatorType.ADD)
+					&& assignment.getLeft() instanceof ParsedExpressionVariable) {
+				result.add(((ParsedExpressionVariable) assignment.getLeft()).getName());
+			}
+		}
+
+		result.removeAll(Arrays.asList(varnames));
+		return result;
 	}
 }
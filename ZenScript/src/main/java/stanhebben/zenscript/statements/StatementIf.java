@@ -1,8 +1,13 @@
 package stanhebben.zenscript.statements;
 
 import org.objectweb.asm.Label;
+import stanhebben.zenscript.compiler.EnvironmentUnreachable;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
 import stanhebben.zenscript.expression.Expression;
+import stanhebben.zenscript.expression.ExpressionBool;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.IInterpretedStatement;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.parser.expression.ParsedExpression;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.util.MethodOutput;
@@ -21,16 +26,36 @@ public class StatementIf extends Statement {
 		this.onElse = onElse;
 	}
 
+	@Override
+	public boolean containsReturn() {
+		return onThen.containsReturn() || (onElse != null && onElse.containsReturn());
+	}
+
 	@Override
 	public void compile(IEnvironmentMethod environment) {
 		environment.getOutput().position(getPosition());
 
 		Expression cCondition = condition.compile(environment, ZenType.BOOL)
 			.eval(environment)
-			.cast(getPosition(), environment, ZenType.BOOL);
+			.cast(getPosition(), environment, ZenType.BOOL)
+			.optimize();
 
 		ZenType expressionType = cCondition.getType();
-		if (expressionType.canCastImplicit(ZenType.BOOL, environment)) {
+		if (cCondition instanceof ExpressionBool) {
+			// constant condition: only the branch taken is output, the other one
+			// is still compiled so its errors are reported
+			if (((ExpressionBool) cCondition).getValue()) {
+				onThen.compile(environment);
+				if (onElse != null) {
+					onElse.compile(new EnvironmentUnreachable(environment));
+				}
+			} else {
+				onThen.compile(new EnvironmentUnreachable(environment));
+				if (onElse != null) {
+					onElse.compile(environment);
+				}
+			}
+		} else if (expressionType.canCastImplicit(ZenType.BOOL, environment)) {
 			Label labelEnd = new Label();
 			Label labelElse = onElse == null ? labelEnd : new Label();
 
@@ -49,4 +74,44 @@ public class StatementIf extends Statement {
 			environment.error(getPosition(), "condition is not a boolean");
 		}
 	}
+
+	@Override
+	public IInterpretedStatement prepare(IEnvironmentMethod environment) {
+		Expression cCondition = condition.compile(environment, ZenType.BOOL)
+			.eval(environment)
+			.cast(getPosition(), environment, ZenType.BOOL)
+			.optimize();
+
+		if (cCondition instanceof ExpressionBool) {
+			// constant condition: only the branch taken is prepared, the other one
+			// is compiled without output so its errors are reported
+			boolean value = ((ExpressionBool) cCondition).getValue();
+			Statement taken = value ? onThen : onElse;
+			Statement skipped = value ? onElse : onThen;
+			if (skipped != null) {
+				skipped.compile(new EnvironmentUnreachable(environment));
+			}
+			return taken == null ? new StatementNull(getPosition()).prepare(environment) : taken.prepare(environment);
+		} else if (cCondition.getType() != ZenType.BOOL) {
+			return null;
+		}
+
+		final IInterpretedExpression preparedCondition = cCondition.prepare(environment);
+		final IInterpretedStatement preparedThen = onThen.prepare(environment);
+		final IInterpretedStatement preparedElse = onElse == null ? null : onElse.prepare(environment);
+		if (preparedCondition == null || preparedThen == null || (onElse != null && preparedElse == null)) {
+			return null;
+		}
+
+		return new IInterpretedStatement() {
+			@Override
+			public boolean execute(InterpreterFrame frame) {
+				if ((Boolean) preparedCondition.evaluate(frame)) {
+					return preparedThen.execute(frame);
+				} else {
+					return preparedElse != null && preparedElse.execute(frame);
+				}
+			}
+		};
+	}
 }
@@ -7,6 +7,8 @@
 package stanhebben.zenscript.statements;
 
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedStatement;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.util.ZenPosition;
 
 /**
@@ -22,4 +24,14 @@ public class StatementNull extends Statement {
 	public void compile(IEnvironmentMethod environment) {
 
 	}
+
+	@Override
+	public IInterpretedStatement prepare(IEnvironmentMethod environment) {
+		return new IInterpretedStatement() {
+			@Override
+			public boolean execute(InterpreterFrame frame) {
+				return false;
+			}
+		};
+	}
 }
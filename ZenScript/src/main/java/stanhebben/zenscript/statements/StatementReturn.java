@@ -3,6 +3,8 @@ package stanhebben.zenscript.statements;
 import org.objectweb.asm.Type;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
 import stanhebben.zenscript.expression.Expression;
+import stanhebben.zenscript.interpreter.IInterpretedStatement;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.parser.expression.ParsedExpression;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.util.ZenPosition;
@@ -27,6 +29,11 @@ public class StatementReturn extends Statement {
 		return false;
 	}
 
+	@Override
+	public boolean containsReturn() {
+		return true;
+	}
+
 	@Override
 	public void compile(IEnvironmentMethod environment) {
 		environment.getOutput().position(getPosition());
@@ -41,4 +48,18 @@ public class StatementReturn extends Statement {
 			environment.getOutput().returnType(returnType);
 		}
 	}
+
+	@Override
+	public IInterpretedStatement prepare(IEnvironmentMethod environment) {
+		if (expression != null) {
+			return null;
+		}
+
+		return new IInterpretedStatement() {
+			@Override
+			public boolean execute(InterpreterFrame frame) {
+				return true;
+			}
+		};
+	}
 }
@@ -8,6 +8,9 @@ package stanhebben.zenscript.statements;
 
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
 import stanhebben.zenscript.expression.Expression;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.IInterpretedStatement;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.parser.expression.ParsedExpression;
 import stanhebben.zenscript.symbols.SymbolLocal;
 import stanhebben.zenscript.type.ZenType;
@@ -45,9 +48,47 @@ public class StatementVar extends Statement {
 
 		environment.putValue(name, symbol, getPosition());
 
-		if (cInitializer != null) {
-			cInitializer.compile(true, environment);
-			environment.getOutput().store(symbol.getType().toASMType(), environment.getLocal(symbol));
+		if (cInitializer == null) {
+			// the variable may be copied to a field before it is assigned (see EnvironmentMethod.promoteLocals)
+			cInitializer = cType.defaultValue(getPosition());
 		}
+
+		cInitializer.compile(true, environment);
+		environment.getOutput().store(symbol.getType().toASMType(), environment.getLocal(symbol));
+	}
+
+	@Override
+	public IInterpretedStatement prepare(IEnvironmentMethod environment) {
+		Expression cInitializer = initializer == null
+				? null
+				: initializer.compile(environment, type).eval(environment);
+		ZenType cType = type == null ? (cInitializer == null ? ZenTypeAny.INSTANCE : cInitializer.getType()) : type;
+		SymbolLocal symbol = new SymbolLocal(cType, isFinal);
+
+		environment.putValue(name, symbol, getPosition());
+
+		if (cInitializer == null) {
+			cInitializer = cType.defaultValue(getPosition());
+		}
+
+		// the value is stored without conversion
+		ZenType valueType = cInitializer.getType();
+		if (!valueType.equals(cType) && !(valueType.isPointer() && cType.isPointer())) {
+			return null;
+		}
+
+		final IInterpretedExpression preparedInitializer = cInitializer.prepare(environment);
+		if (preparedInitializer == null) {
+			return null;
+		}
+
+		final int local = environment.getLocal(symbol);
+		return new IInterpretedStatement() {
+			@Override
+			public boolean execute(InterpreterFrame frame) {
+				frame.setLocal(local, preparedInitializer.evaluate(frame));
+				return false;
+			}
+		};
 	}
 }
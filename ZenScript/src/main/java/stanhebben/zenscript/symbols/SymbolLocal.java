@@ -19,6 +19,9 @@ public class SymbolLocal implements IZenSymbol {
 	private final ZenType type;
 	private final boolean isFinal;
 
+	private String fieldOwner = null;
+	private String fieldName = null;
+
 	public SymbolLocal(ZenType type, boolean isFinal) {
 		this.type = type;
 		this.isFinal = isFinal;
@@ -32,6 +35,31 @@ public class SymbolLocal implements IZenSymbol {
 		return isFinal;
 	}
 
+	/**
+	 * Moves this variable to a static field. Code compiled afterwards accesses
+	 * the field instead of a local variable; this allows the variable to be
+	 * shared by several methods.
+	 *
+	 * @param owner internal name of the class containing the field
+	 * @param name field name
+	 */
+	public void promote(String owner, String name) {
+		fieldOwner = owner;
+		fieldName = name;
+	}
+
+	public boolean isPromoted() {
+		return fieldName != null;
+	}
+
+	public String getFieldOwner() {
+		return fieldOwner;
+	}
+
+	public String getFieldName() {
+		return fieldName;
+	}
+
 	@Override
 	public IPartialExpression instance(ZenPosition position) {
 		return new PartialLocal(position, this);
@@ -0,0 +1,142 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+
+package stanhebben.zenscript.symbols;
+
+import java.util.List;
+import org.objectweb.asm.Label;
+import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.expression.Expression;
+import stanhebben.zenscript.expression.ExpressionLocalGet;
+import stanhebben.zenscript.expression.ExpressionLocalSet;
+import stanhebben.zenscript.expression.ExpressionStringAccumulatorGet;
+import stanhebben.zenscript.expression.partial.IPartialExpression;
+import stanhebben.zenscript.expression.partial.PartialStringAccumulator;
+import stanhebben.zenscript.util.MethodOutput;
+import stanhebben.zenscript.util.ZenPosition;
+
+/**
+ * String variable which is appended to inside a loop. While the loop runs,
+ * appended values are collected in a hidden StringBuilder, so the string
+ * doesn't need to be copied on every append. The string is only created when
+ * the variable is read, and stored back into the variable after the loop.
+ *
+ * While the builder is null, the variable itself holds the current value.
+ *
+ * @author Stan Hebben
+ */
+public class SymbolStringAccumulator implements IZenSymbol {
+	private final ZenPosition position;
+	private final SymbolLocal variable;
+	private final int builder;
+
+	/**
+	 * Creates an accumulator for the given variable.
+	 *
+	 * @param position position of the loop
+	 * @param variable string variable
+	 * @param builder local variable index of the StringBuilder
+	 */
+	public SymbolStringAccumulator(ZenPosition position, SymbolLocal variable, int builder) {
+		this.position = position;
+		this.variable = variable;
+		this.builder = builder;
+	}
+
+	public SymbolLocal getVariable() {
+		return variable;
+	}
+
+	@Override
+	public IPartialExpression instance(ZenPosition position) {
+		return new PartialStringAccumulator(position, this);
+	}
+
+	/**
+	 * Outputs code to be executed before the loop.
+	 *
+	 * @param environment method environment
+	 */
+	public void compileStart(IEnvironmentMethod environment) {
+		MethodOutput output = environment.getOutput();
+		output.aConstNull();
+		output.storeObject(builder);
+	}
+
+	/**
+	 * Outputs code to be executed after the loop, storing the accumulated
+	 * value into the variable.
+	 *
+	 * @param environment method environment
+	 */
+	public void compileEnd(IEnvironmentMethod environment) {
+		new ExpressionLocalSet(position, variable, new ExpressionStringAccumulatorGet(position, this))
+				.compile(false, environment);
+	}
+
+	/**
+	 * Outputs code to push the current value of the variable.
+	 *
+	 * @param environment method environment
+	 */
+	public void compileGet(IEnvironmentMethod environment) {
+		MethodOutput output = environment.getOutput();
+		Label fromBuilder = new Label();
+		Label end = new Label();
+
+		output.loadObject(builder);
+		output.ifNonNull(fromBuilder);
+		new ExpressionLocalGet(position, variable).compile(true, environment);
+		output.goTo(end);
+		output.label(fromBuilder);
+		output.loadObject(builder);
+		output.invoke(StringBuilder.class, "toString", String.class);
+		output.label(end);
+	}
+
+	/**
+	 * Outputs code to append the given string values to the variable.
+	 *
+	 * @param values string values
+	 * @param environment method environment
+	 */
+	public void compileAppend(List<Expression> values, IEnvironmentMethod environment) {
+		MethodOutput output = environment.getOutput();
+		Label ready = new Label();
+
+		output.loadObject(builder);
+		output.ifNonNull(ready);
+		output.newObject(StringBuilder.class);
+		output.dup();
+		output.construct(StringBuilder.class);
+		new ExpressionLocalGet(position, variable).compile(true, environment);
+		output.invoke(StringBuilder.class, "append", StringBuilder.class, String.class);
+		output.storeObject(builder);
+		output.label(ready);
+
+		output.loadObject(builder);
+		for (Expression value : values) {
+			value.compile(true, environment);
+			output.invoke(StringBuilder.class, "append", StringBuilder.class, String.class);
+		}
+		output.pop();
+	}
+
+	/**
+	 * Outputs code to assign a new value to the variable.
+	 *
+	 * @param value new value
+	 * @param result true if the value should be left on the stack
+	 * @param environment method environment
+	 */
+	public void compileSet(Expression value, boolean result, IEnvironmentMethod environment) {
+		new ExpressionLocalSet(position, variable, value).compile(result, environment);
+
+		MethodOutput output = environment.getOutput();
+		output.aConstNull();
+		output.storeObject(builder);
+	}
+}
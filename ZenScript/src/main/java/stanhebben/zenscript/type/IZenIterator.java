@@ -7,6 +7,7 @@
 package stanhebben.zenscript.type;
 
 import org.objectweb.asm.Label;
+import stanhebben.zenscript.interpreter.IInterpretedIterator;
 
 /**
  *
@@ -46,4 +47,11 @@ public interface IZenIterator {
 	public void compileEnd();
 
 	public ZenType getType(int i);
+
+	/**
+	 * Prepares this iterator for the interpreter.
+	 *
+	 * @return interpreted iterator, or null if this iterator can only be compiled
+	 */
+	public IInterpretedIterator prepare();
 }
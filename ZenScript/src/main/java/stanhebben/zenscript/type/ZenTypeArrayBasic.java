@@ -1,5 +1,7 @@
 package stanhebben.zenscript.type;
 
+import java.lang.reflect.Array;
+import java.util.Iterator;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.Type;
 import stanhebben.zenscript.compiler.IEnvironmentGlobal;
@@ -9,6 +11,7 @@ import stanhebben.zenscript.expression.ExpressionArrayGet;
 import stanhebben.zenscript.expression.ExpressionArrayLength;
 import stanhebben.zenscript.expression.ExpressionArraySet;
 import stanhebben.zenscript.expression.partial.IPartialExpression;
+import stanhebben.zenscript.interpreter.IInterpretedIterator;
 import stanhebben.zenscript.type.casting.CastingRuleArrayArray;
 import stanhebben.zenscript.type.casting.CastingRuleArrayList;
 import stanhebben.zenscript.type.casting.CastingRuleDelegateArray;
@@ -92,12 +95,9 @@ public class ZenTypeArrayBasic extends ZenTypeArray {
 	}
 
 	@Override
-	public Class toJavaClass() {
-		try {
-			return Class.forName("[L" + getBaseType().toJavaClass().getName() + ";");
-		} catch (ClassNotFoundException ex) {
-			throw new RuntimeException(ex);
-		}
+	public Class<?> toJavaClass() {
+		Class<?> baseClass = getBaseType().toJavaClass();
+		return baseClass == null ? null : Array.newInstance(baseClass, 0).getClass();
 	}
 
 	@Override
@@ -171,6 +171,34 @@ public class ZenTypeArrayBasic extends ZenTypeArray {
 		public ZenType getType(int i) {
 			return getBaseType();
 		}
+
+		@Override
+		public IInterpretedIterator prepare() {
+			return new IInterpretedIterator() {
+				@Override
+				public Iterator<Object[]> iterate(final Object value) {
+					final int length = Array.getLength(value);
+					return new Iterator<Object[]>() {
+						private int index = 0;
+
+						@Override
+						public boolean hasNext() {
+							return index < length;
+						}
+
+						@Override
+						public Object[] next() {
+							return new Object[] { Array.get(value, index++) };
+						}
+
+						@Override
+						public void remove() {
+							throw new UnsupportedOperationException();
+						}
+					};
+				}
+			};
+		}
 	}
 
 	private class IndexValueIterator implements IZenIterator {
@@ -215,5 +243,34 @@ public class ZenTypeArrayBasic extends ZenTypeArray {
 		public ZenType getType(int i) {
 			return i == 0 ? INT : getBaseType();
 		}
+
+		@Override
+		public IInterpretedIterator prepare() {
+			return new IInterpretedIterator() {
+				@Override
+				public Iterator<Object[]> iterate(final Object value) {
+					final int length = Array.getLength(value);
+					return new Iterator<Object[]>() {
+						private int index = 0;
+
+						@Override
+						public boolean hasNext() {
+							return index < length;
+						}
+
+						@Override
+						public Object[] next() {
+							Object element = Array.get(value, index);
+							return new Object[] { index++, element };
+						}
+
+						@Override
+						public void remove() {
+							throw new UnsupportedOperationException();
+						}
+					};
+				}
+			};
+		}
 	}
 }
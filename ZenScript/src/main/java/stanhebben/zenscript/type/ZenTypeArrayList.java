@@ -12,6 +12,8 @@ import stanhebben.zenscript.compiler.IEnvironmentGlobal;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
 import stanhebben.zenscript.expression.Expression;
 import stanhebben.zenscript.expression.partial.IPartialExpression;
+import stanhebben.zenscript.interpreter.IInterpretedExpression;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.casting.CastingRuleDelegateList;
 import stanhebben.zenscript.type.casting.ICastingRuleDelegate;
 import stanhebben.zenscript.type.iterator.IteratorIterable;
@@ -130,5 +132,20 @@ public class ZenTypeArrayList extends ZenTypeArray {
 				environment.getOutput().invokeInterface(List.class, "size", int.class);
 			}
 		}
+
+		@Override
+		public IInterpretedExpression prepare(IEnvironmentMethod environment) {
+			final IInterpretedExpression preparedValue = value.prepare(environment);
+			if (preparedValue == null) {
+				return null;
+			}
+
+			return new IInterpretedExpression() {
+				@Override
+				public Object evaluate(InterpreterFrame frame) {
+					return ((List<?>) preparedValue.evaluate(frame)).size();
+				}
+			};
+		}
 	}
 }
@@ -19,6 +19,7 @@ import stanhebben.zenscript.expression.ExpressionInvalid;
 import stanhebben.zenscript.expression.ExpressionCallVirtual;
 import stanhebben.zenscript.expression.ExpressionNull;
 import stanhebben.zenscript.expression.partial.IPartialExpression;
+import stanhebben.zenscript.interpreter.IInterpretedIterator;
 import stanhebben.zenscript.type.casting.ICastingRuleDelegate;
 import stanhebben.zenscript.type.natives.IJavaMethod;
 import stanhebben.zenscript.type.natives.JavaMethod;
@@ -215,5 +216,10 @@ public class ZenTypeIntRange extends ZenType {
 		public ZenType getType(int i) {
 			return INT;
 		}
+
+		@Override
+		public IInterpretedIterator prepare() {
+			return null;
+		}
 	}
 }
@@ -7,6 +7,8 @@
 package stanhebben.zenscript.type.casting;
 
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedCastingRule;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 
 /**
@@ -28,6 +30,21 @@ public abstract class BaseCastingRule implements ICastingRule {
 		compileInner(method);
 	}
 
+	@Override
+	public final IInterpretedCastingRule prepare() {
+		final IInterpretedCastingRule base = baseRule == null ? null : baseRule.prepare();
+		if (baseRule != null && base == null) {
+			return null;
+		}
+
+		return new IInterpretedCastingRule() {
+			@Override
+			public Object cast(InterpreterFrame frame, Object value) {
+				return castInner(base == null ? value : base.cast(frame, value));
+			}
+		};
+	}
+
 	@Override
 	public final ZenType getInputType() {
 		return baseRule == null ? getInnerInputType() : baseRule.getInputType();
@@ -36,4 +53,6 @@ public abstract class BaseCastingRule implements ICastingRule {
 	public abstract ZenType getInnerInputType();
 
 	public abstract void compileInner(IEnvironmentMethod method);
+
+	public abstract Object castInner(Object value);
 }
@@ -7,6 +7,8 @@
 package stanhebben.zenscript.type.casting;
 
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedCastingRule;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.value.IAny;
 
@@ -25,6 +27,16 @@ public class CastingAnyByte implements ICastingRule {
 		method.getOutput().invokeInterface(IAny.class, "asByte", byte.class);
 	}
 
+	@Override
+	public IInterpretedCastingRule prepare() {
+		return new IInterpretedCastingRule() {
+			@Override
+			public Object cast(InterpreterFrame frame, Object value) {
+				return ((IAny) value).asByte();
+			}
+		};
+	}
+
 	@Override
 	public ZenType getInputType() {
 		return ZenType.ANY;
@@ -8,6 +8,8 @@ package stanhebben.zenscript.type.casting;
 
 import org.objectweb.asm.Label;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedCastingRule;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.util.MethodOutput;
 
@@ -36,6 +38,16 @@ public class CastingNotNull implements ICastingRule {
 		output.label(labelAfter);
 	}
 
+	@Override
+	public IInterpretedCastingRule prepare() {
+		return new IInterpretedCastingRule() {
+			@Override
+			public Object cast(InterpreterFrame frame, Object value) {
+				return value != null;
+			}
+		};
+	}
+
 	@Override
 	public ZenType getInputType() {
 		return fromType;
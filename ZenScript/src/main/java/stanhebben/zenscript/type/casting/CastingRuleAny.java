@@ -7,6 +7,7 @@
 package stanhebben.zenscript.type.casting;
 
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedCastingRule;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.value.IAny;
 
@@ -27,6 +28,11 @@ public class CastingRuleAny implements ICastingRule {
 		method.getOutput().invokeInterface(IAny.class, "as", Class.class, Object.class);
 	}
 
+	@Override
+	public IInterpretedCastingRule prepare() {
+		return null;
+	}
+
 	@Override
 	public ZenType getInputType() {
 		return ZenType.ANY;
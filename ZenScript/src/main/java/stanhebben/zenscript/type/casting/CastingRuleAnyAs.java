@@ -8,6 +8,8 @@ package stanhebben.zenscript.type.casting;
 
 import org.objectweb.asm.Type;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedCastingRule;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.value.IAny;
 
@@ -28,6 +30,17 @@ public class CastingRuleAnyAs implements ICastingRule {
 		method.getOutput().invokeInterface(IAny.class, "as", Class.class, Object.class);
 	}
 
+	@Override
+	public IInterpretedCastingRule prepare() {
+		final Class<?> cls = type.toJavaClass();
+		return new IInterpretedCastingRule() {
+			@Override
+			public Object cast(InterpreterFrame frame, Object value) {
+				return ((IAny) value).as(cls);
+			}
+		};
+	}
+
 	@Override
 	public ZenType getInputType() {
 		return ZenType.ANY;
@@ -6,9 +6,12 @@
 
 package stanhebben.zenscript.type.casting;
 
+import java.lang.reflect.Array;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.Type;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedCastingRule;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.ZenTypeArrayBasic;
 import stanhebben.zenscript.util.MethodOutput;
@@ -75,6 +78,28 @@ public class CastingRuleArrayArray implements ICastingRule {
 		output.loadObject(result);
 	}
 
+	@Override
+	public IInterpretedCastingRule prepare() {
+		final IInterpretedCastingRule preparedBase = base == null ? null : base.prepare();
+		if (base != null && preparedBase == null) {
+			return null;
+		}
+
+		final Class<?> toClass = to.getBaseType().toJavaClass();
+		return new IInterpretedCastingRule() {
+			@Override
+			public Object cast(InterpreterFrame frame, Object value) {
+				int length = Array.getLength(value);
+				Object result = Array.newInstance(toClass, length);
+				for (int i = 0; i < length; i++) {
+					Object element = Array.get(value, i);
+					Array.set(result, i, preparedBase == null ? element : preparedBase.cast(frame, element));
+				}
+				return result;
+			}
+		};
+	}
+
 	@Override
 	public ZenType getInputType() {
 		return from;
@@ -23,6 +23,11 @@ public class CastingRuleD2F extends BaseCastingRule {
 		method.getOutput().d2f();
 	}
 
+	@Override
+	public Object castInner(Object value) {
+		return (float) ((Number) value).doubleValue();
+	}
+
 	@Override
 	public ZenType getInnerInputType() {
 		return ZenType.DOUBLE;
@@ -23,6 +23,11 @@ public class CastingRuleD2I extends BaseCastingRule {
 		method.getOutput().d2i();
 	}
 
+	@Override
+	public Object castInner(Object value) {
+		return (int) ((Number) value).doubleValue();
+	}
+
 	@Override
 	public ZenType getInnerInputType() {
 		return ZenType.DOUBLE;
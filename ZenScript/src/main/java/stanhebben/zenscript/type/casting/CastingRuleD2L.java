@@ -23,6 +23,11 @@ public class CastingRuleD2L extends BaseCastingRule {
 		method.getOutput().d2l();
 	}
 
+	@Override
+	public Object castInner(Object value) {
+		return (long) ((Number) value).doubleValue();
+	}
+
 	@Override
 	public ZenType getInnerInputType() {
 		return ZenType.DOUBLE;
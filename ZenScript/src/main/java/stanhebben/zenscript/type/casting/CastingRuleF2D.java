@@ -23,6 +23,11 @@ public class CastingRuleF2D extends BaseCastingRule {
 		method.getOutput().f2d();
 	}
 
+	@Override
+	public Object castInner(Object value) {
+		return (double) ((Number) value).floatValue();
+	}
+
 	@Override
 	public ZenType getInnerInputType() {
 		return ZenType.FLOAT;
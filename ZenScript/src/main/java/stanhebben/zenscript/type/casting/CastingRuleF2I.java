@@ -23,6 +23,11 @@ public class CastingRuleF2I extends BaseCastingRule {
 		method.getOutput().f2i();
 	}
 
+	@Override
+	public Object castInner(Object value) {
+		return (int) ((Number) value).floatValue();
+	}
+
 	@Override
 	public ZenType getInnerInputType() {
 		return ZenType.FLOAT;
@@ -23,6 +23,11 @@ public class CastingRuleF2L extends BaseCastingRule {
 		method.getOutput().f2l();
 	}
 
+	@Override
+	public Object castInner(Object value) {
+		return (long) ((Number) value).floatValue();
+	}
+
 	@Override
 	public ZenType getInnerInputType() {
 		return ZenType.FLOAT;
@@ -23,6 +23,11 @@ public class CastingRuleI2B extends BaseCastingRule {
 		method.getOutput().i2b();
 	}
 
+	@Override
+	public Object castInner(Object value) {
+		return (byte) ((Number) value).intValue();
+	}
+
 	@Override
 	public ZenType getInnerInputType() {
 		return ZenType.INT;
@@ -23,6 +23,11 @@ public class CastingRuleI2D extends BaseCastingRule {
 		method.getOutput().i2d();
 	}
 
+	@Override
+	public Object castInner(Object value) {
+		return (double) ((Number) value).intValue();
+	}
+
 	@Override
 	public ZenType getInnerInputType() {
 		return ZenType.INT;
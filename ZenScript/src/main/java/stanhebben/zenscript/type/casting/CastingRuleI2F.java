@@ -23,6 +23,11 @@ public class CastingRuleI2F extends BaseCastingRule {
 		method.getOutput().i2f();
 	}
 
+	@Override
+	public Object castInner(Object value) {
+		return (float) ((Number) value).intValue();
+	}
+
 	@Override
 	public ZenType getInnerInputType() {
 		return ZenType.INT;
@@ -23,6 +23,11 @@ public class CastingRuleI2L extends BaseCastingRule {
 		method.getOutput().i2l();
 	}
 
+	@Override
+	public Object castInner(Object value) {
+		return (long) ((Number) value).intValue();
+	}
+
 	@Override
 	public ZenType getInnerInputType() {
 		return ZenType.INT;
@@ -23,6 +23,11 @@ public class CastingRuleI2S extends BaseCastingRule {
 		method.getOutput().i2s();
 	}
 
+	@Override
+	public Object castInner(Object value) {
+		return (short) ((Number) value).intValue();
+	}
+
 	@Override
 	public ZenType getInnerInputType() {
 		return ZenType.INT;
@@ -23,6 +23,11 @@ public class CastingRuleL2D extends BaseCastingRule {
 		method.getOutput().l2d();
 	}
 
+	@Override
+	public Object castInner(Object value) {
+		return (double) ((Number) value).longValue();
+	}
+
 	@Override
 	public ZenType getInnerInputType() {
 		return ZenType.LONG;
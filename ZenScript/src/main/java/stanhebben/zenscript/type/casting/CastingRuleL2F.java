@@ -23,6 +23,11 @@ public class CastingRuleL2F extends BaseCastingRule {
 		method.getOutput().l2f();
 	}
 
+	@Override
+	public Object castInner(Object value) {
+		return (float) ((Number) value).longValue();
+	}
+
 	@Override
 	public ZenType getInnerInputType() {
 		return ZenType.LONG;
@@ -23,6 +23,11 @@ public class CastingRuleL2I extends BaseCastingRule {
 		method.getOutput().l2i();
 	}
 
+	@Override
+	public Object castInner(Object value) {
+		return (int) ((Number) value).longValue();
+	}
+
 	@Override
 	public ZenType getInnerInputType() {
 		return ZenType.LONG;
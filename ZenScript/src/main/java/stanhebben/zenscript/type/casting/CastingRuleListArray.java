@@ -7,6 +7,7 @@
 package stanhebben.zenscript.type.casting;
 
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedCastingRule;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.ZenTypeArrayBasic;
 import stanhebben.zenscript.type.ZenTypeArrayList;
@@ -61,6 +62,11 @@ public class CastingRuleListArray implements ICastingRule {
 		 */
 	}
 
+	@Override
+	public IInterpretedCastingRule prepare() {
+		return null;
+	}
+
 	@Override
 	public ZenType getInputType() {
 		return from;
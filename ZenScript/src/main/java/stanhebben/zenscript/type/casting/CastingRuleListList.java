@@ -7,6 +7,7 @@
 package stanhebben.zenscript.type.casting;
 
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedCastingRule;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.ZenTypeArrayList;
 import stanhebben.zenscript.util.MethodOutput;
@@ -60,6 +61,11 @@ public class CastingRuleListList implements ICastingRule {
 		 */
 	}
 
+	@Override
+	public IInterpretedCastingRule prepare() {
+		return null;
+	}
+
 	@Override
 	public ZenType getInputType() {
 		return from;
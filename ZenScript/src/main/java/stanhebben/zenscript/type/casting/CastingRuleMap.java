@@ -7,6 +7,7 @@
 package stanhebben.zenscript.type.casting;
 
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedCastingRule;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.ZenTypeAssociative;
 
@@ -42,6 +43,11 @@ public class CastingRuleMap implements ICastingRule {
 																		// Templates.
 	}
 
+	@Override
+	public IInterpretedCastingRule prepare() {
+		return null;
+	}
+
 	@Override
 	public ZenType getInputType() {
 		return fromType;
@@ -7,6 +7,8 @@
 package stanhebben.zenscript.type.casting;
 
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedCastingRule;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 
 /**
@@ -27,6 +29,27 @@ public class CastingRuleNone implements ICastingRule {
 		// nothing to do
 	}
 
+	@Override
+	public IInterpretedCastingRule prepare() {
+		// byte and short values widen without conversion on the stack, but not when boxed
+		if (toType == ZenType.SHORT || toType == ZenType.INT) {
+			return new IInterpretedCastingRule() {
+				@Override
+				public Object cast(InterpreterFrame frame, Object value) {
+					Number number = (Number) value;
+					return toType == ZenType.SHORT ? (Object) number.shortValue() : (Object) number.intValue();
+				}
+			};
+		}
+
+		return new IInterpretedCastingRule() {
+			@Override
+			public Object cast(InterpreterFrame frame, Object value) {
+				return value;
+			}
+		};
+	}
+
 	@Override
 	public ZenType getInputType() {
 		return fromType;
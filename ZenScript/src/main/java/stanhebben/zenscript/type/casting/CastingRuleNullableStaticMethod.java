@@ -8,6 +8,8 @@ package stanhebben.zenscript.type.casting;
 
 import org.objectweb.asm.Label;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedCastingRule;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.natives.IJavaMethod;
 import stanhebben.zenscript.util.MethodOutput;
@@ -54,6 +56,26 @@ public class CastingRuleNullableStaticMethod implements ICastingRule {
 		output.label(lblAfter);
 	}
 
+	@Override
+	public IInterpretedCastingRule prepare() {
+		final IInterpretedCastingRule preparedBase = base == null ? null : base.prepare();
+		if (base != null && preparedBase == null) {
+			return null;
+		}
+
+		return new IInterpretedCastingRule() {
+			@Override
+			public Object cast(InterpreterFrame frame, Object value) {
+				if (value == null) {
+					return null;
+				}
+
+				Object argument = preparedBase == null ? value : preparedBase.cast(frame, value);
+				return frame.invoke(method, null, argument);
+			}
+		};
+	}
+
 	@Override
 	public ZenType getInputType() {
 		return method.getParameterTypes()[0];
@@ -8,6 +8,8 @@ package stanhebben.zenscript.type.casting;
 
 import org.objectweb.asm.Label;
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedCastingRule;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.natives.IJavaMethod;
 import stanhebben.zenscript.util.MethodOutput;
@@ -44,6 +46,16 @@ public class CastingRuleNullableVirtualMethod implements ICastingRule {
 		output.label(lblAfter);
 	}
 
+	@Override
+	public IInterpretedCastingRule prepare() {
+		return new IInterpretedCastingRule() {
+			@Override
+			public Object cast(InterpreterFrame frame, Object value) {
+				return value == null ? null : frame.invoke(method, value);
+			}
+		};
+	}
+
 	@Override
 	public ZenType getInputType() {
 		return type;
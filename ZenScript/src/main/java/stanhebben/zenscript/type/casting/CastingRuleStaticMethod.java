@@ -7,6 +7,8 @@
 package stanhebben.zenscript.type.casting;
 
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedCastingRule;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.natives.IJavaMethod;
 
@@ -36,6 +38,22 @@ public class CastingRuleStaticMethod implements ICastingRule {
 		this.method.invokeStatic(method.getOutput());
 	}
 
+	@Override
+	public IInterpretedCastingRule prepare() {
+		final IInterpretedCastingRule preparedBase = base == null ? null : base.prepare();
+		if (base != null && preparedBase == null) {
+			return null;
+		}
+
+		return new IInterpretedCastingRule() {
+			@Override
+			public Object cast(InterpreterFrame frame, Object value) {
+				Object argument = preparedBase == null ? value : preparedBase.cast(frame, value);
+				return frame.invoke(method, null, argument);
+			}
+		};
+	}
+
 	@Override
 	public ZenType getInputType() {
 		return method.getParameterTypes()[0];
@@ -7,6 +7,8 @@
 package stanhebben.zenscript.type.casting;
 
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedCastingRule;
+import stanhebben.zenscript.interpreter.InterpreterFrame;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.natives.IJavaMethod;
 
@@ -26,6 +28,16 @@ public class CastingRuleVirtualMethod implements ICastingRule {
 		this.method.invokeVirtual(method.getOutput());
 	}
 
+	@Override
+	public IInterpretedCastingRule prepare() {
+		return new IInterpretedCastingRule() {
+			@Override
+			public Object cast(InterpreterFrame frame, Object value) {
+				return frame.invoke(method, value);
+			}
+		};
+	}
+
 	@Override
 	public ZenType getInputType() {
 		return method.getParameterTypes()[0];
@@ -7,6 +7,7 @@
 package stanhebben.zenscript.type.casting;
 
 import stanhebben.zenscript.compiler.IEnvironmentMethod;
+import stanhebben.zenscript.interpreter.IInterpretedCastingRule;
 import stanhebben.zenscript.type.ZenType;
 
 /**
@@ -16,6 +17,13 @@ import stanhebben.zenscript.type.ZenType;
 public interface ICastingRule {
 	public void compile(IEnvironmentMethod method);
 
+	/**
+	 * Prepares this rule for the interpreter.
+	 *
+	 * @return interpreted rule, or null if this rule can only be compiled
+	 */
+	public IInterpretedCastingRule prepare();
+
 	public ZenType getInputType();
 
 	public ZenType getResultingType();
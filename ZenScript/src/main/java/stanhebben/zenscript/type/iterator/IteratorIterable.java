@@ -9,6 +9,7 @@ package stanhebben.zenscript.type.iterator;
 import java.util.Iterator;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.Type;
+import stanhebben.zenscript.interpreter.IInterpretedIterator;
 import stanhebben.zenscript.type.IZenIterator;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.util.MethodOutput;
@@ -62,4 +63,34 @@ public class IteratorIterable implements IZenIterator {
 	@Override
 	public void compileEnd() {
 	}
+
+	@Override
+	public IInterpretedIterator prepare() {
+		if (!iteratorType.isPointer()) {
+			return null;
+		}
+
+		return new IInterpretedIterator() {
+			@Override
+			public Iterator<Object[]> iterate(Object value) {
+				final Iterator<?> iterator = ((Iterable<?>) value).iterator();
+				return new Iterator<Object[]>() {
+					@Override
+					public boolean hasNext() {
+						return iterator.hasNext();
+					}
+
+					@Override
+					public Object[] next() {
+						return new Object[] { iterator.next() };
+					}
+
+					@Override
+					public void remove() {
+						throw new UnsupportedOperationException();
+					}
+				};
+			}
+		};
+	}
 }
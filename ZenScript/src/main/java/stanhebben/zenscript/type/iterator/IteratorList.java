@@ -9,6 +9,7 @@ package stanhebben.zenscript.type.iterator;
 import java.util.Iterator;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.Type;
+import stanhebben.zenscript.interpreter.IInterpretedIterator;
 import stanhebben.zenscript.type.IZenIterator;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.util.MethodOutput;
@@ -66,4 +67,36 @@ public class IteratorList implements IZenIterator {
 	public ZenType getType(int i) {
 		return i == 0 ? ZenType.INT : iteratorType;
 	}
+
+	@Override
+	public IInterpretedIterator prepare() {
+		if (!iteratorType.isPointer()) {
+			return null;
+		}
+
+		return new IInterpretedIterator() {
+			@Override
+			public Iterator<Object[]> iterate(Object value) {
+				final Iterator<?> iterator = ((Iterable<?>) value).iterator();
+				return new Iterator<Object[]>() {
+					private int index = 0;
+
+					@Override
+					public boolean hasNext() {
+						return iterator.hasNext();
+					}
+
+					@Override
+					public Object[] next() {
+						return new Object[] { index++, iterator.next() };
+					}
+
+					@Override
+					public void remove() {
+						throw new UnsupportedOperationException();
+					}
+				};
+			}
+		};
+	}
 }
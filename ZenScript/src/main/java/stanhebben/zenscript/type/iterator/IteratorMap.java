@@ -11,6 +11,7 @@ import java.util.Map;
 import java.util.Set;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.Type;
+import stanhebben.zenscript.interpreter.IInterpretedIterator;
 import stanhebben.zenscript.type.IZenIterator;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.ZenTypeAssociative;
@@ -73,4 +74,35 @@ public class IteratorMap implements IZenIterator {
 	public ZenType getType(int i) {
 		return i == 1 ? type.getValueType() : type.getKeyType();
 	}
+
+	@Override
+	public IInterpretedIterator prepare() {
+		if (!type.getKeyType().isPointer() || !type.getValueType().isPointer()) {
+			return null;
+		}
+
+		return new IInterpretedIterator() {
+			@Override
+			public Iterator<Object[]> iterate(Object value) {
+				final Iterator<? extends Map.Entry<?, ?>> iterator = ((Map<?, ?>) value).entrySet().iterator();
+				return new Iterator<Object[]>() {
+					@Override
+					public boolean hasNext() {
+						return iterator.hasNext();
+					}
+
+					@Override
+					public Object[] next() {
+						Map.Entry<?, ?> entry = iterator.next();
+						return new Object[] { entry.getKey(), entry.getValue() };
+					}
+
+					@Override
+					public void remove() {
+						throw new UnsupportedOperationException();
+					}
+				};
+			}
+		};
+	}
 }
@@ -11,6 +11,7 @@ import java.util.Map;
 import java.util.Set;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.Type;
+import stanhebben.zenscript.interpreter.IInterpretedIterator;
 import stanhebben.zenscript.type.IZenIterator;
 import stanhebben.zenscript.type.ZenType;
 import stanhebben.zenscript.type.ZenTypeAssociative;
@@ -67,4 +68,34 @@ public class IteratorMapKeys implements IZenIterator {
 	public ZenType getType(int i) {
 		return type.getKeyType();
 	}
+
+	@Override
+	public IInterpretedIterator prepare() {
+		if (!type.getKeyType().isPointer()) {
+			return null;
+		}
+
+		return new IInterpretedIterator() {
+			@Override
+			public Iterator<Object[]> iterate(Object value) {
+				final Iterator<?> iterator = ((Map<?, ?>) value).keySet().iterator();
+				return new Iterator<Object[]>() {
+					@Override
+					public boolean hasNext() {
+						return iterator.hasNext();
+					}
+
+					@Override
+					public Object[] next() {
+						return new Object[] { iterator.next() };
+					}
+
+					@Override
+					public void remove() {
+						throw new UnsupportedOperationException();
+					}
+				};
+			}
+		};
+	}
 }
@@ -62,6 +62,18 @@ public class JavaMethodGenerated implements IJavaMethod {
 		descriptor = descriptorString.toString();
 	}
 
+	public String getOwner() {
+		return owner;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getDescriptor() {
+		return descriptor;
+	}
+
 	@Override
 	public boolean isStatic() {
 		return isStatic;
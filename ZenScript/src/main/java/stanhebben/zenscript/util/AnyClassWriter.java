@@ -12,7 +12,9 @@ import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 import stanhebben.zenscript.type.natives.IJavaMethod;
 import stanhebben.zenscript.type.natives.JavaMethod;
+import static stanhebben.zenscript.util.ZenTypeUtil.CLASS_VERSION;
 import static stanhebben.zenscript.util.ZenTypeUtil.EMPTY_REGISTRY;
+import static stanhebben.zenscript.util.ZenTypeUtil.createClassWriter;
 import static stanhebben.zenscript.util.ZenTypeUtil.internal;
 import static stanhebben.zenscript.util.ZenTypeUtil.signature;
 import stanhebben.zenscript.value.IAny;
@@ -72,9 +74,9 @@ public class AnyClassWriter {
 
 	public static byte[] construct(IAnyDefinition definition, String name, Type asmType) {
 		try {
-			ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+			ClassWriter writer = createClassWriter();
 			writer.visit(
-					Opcodes.V1_6,
+					CLASS_VERSION,
 					Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL,
 					name,
 					null,
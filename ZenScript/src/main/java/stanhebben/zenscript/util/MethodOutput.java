@@ -15,6 +15,7 @@ import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import static org.objectweb.asm.Opcodes.*;
 import org.objectweb.asm.Type;
+import org.objectweb.asm.commons.CodeSizeEvaluator;
 import org.objectweb.asm.commons.LocalVariablesSorter;
 import static stanhebben.zenscript.util.ZenTypeUtil.internal;
 import static stanhebben.zenscript.util.ZenTypeUtil.signature;
@@ -27,6 +28,7 @@ public class MethodOutput {
 	// private static final boolean debug = true;
 
 	private final LocalVariablesSorter visitor;
+	private final CodeSizeEvaluator codeSize;
 
 	private boolean debug = false;
 	private int labelIndex = 1;
@@ -34,11 +36,23 @@ public class MethodOutput {
 
 	public MethodOutput(ClassVisitor cls, int access, String name, String descriptor, String signature, String[] exceptions) {
 		MethodVisitor methodVisitor = cls.visitMethod(access, name, descriptor, signature, exceptions);
-		visitor = new LocalVariablesSorter(access, descriptor, methodVisitor);
+		codeSize = new CodeSizeEvaluator(methodVisitor);
+		visitor = new LocalVariablesSorter(access, descriptor, codeSize);
 	}
 
 	public MethodOutput(LocalVariablesSorter visitor) {
 		this.visitor = visitor;
+		codeSize = null;
+	}
+
+	/**
+	 * Returns an upper bound of the size of the bytecode generated so far, in
+	 * bytes, or -1 if unknown.
+	 *
+	 * @return code size
+	 */
+	public int getCodeSize() {
+		return codeSize == null ? -1 : codeSize.getMaxSize();
 	}
 
 	public void enableDebug() {
@@ -9,6 +9,8 @@ package stanhebben.zenscript.util;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
 import stanhebben.zenscript.compiler.ITypeRegistry;
 import stanhebben.zenscript.compiler.TypeRegistry;
 
@@ -19,6 +21,13 @@ import stanhebben.zenscript.compiler.TypeRegistry;
 public class ZenTypeUtil {
 	public static final ITypeRegistry EMPTY_REGISTRY = new TypeRegistry();
 
+	/**
+	 * Class file version of generated classes. Java 6 class files are verified
+	 * without stack map frames if they don't have any, so there is no need to
+	 * compute them. Don't raise this without enabling COMPUTE_FRAMES again.
+	 */
+	public static final int CLASS_VERSION = Opcodes.V1_6;
+
 	private static final Map<String, String> SIGNATURE_MAP;
 
 	static {
@@ -34,6 +43,18 @@ public class ZenTypeUtil {
 		SIGNATURE_MAP.put(void.class.getName(), "V");
 	}
 
+	/**
+	 * Creates a class writer for a generated class. Only maximum stack size and
+	 * locals are computed; computing frames would require ASM to analyze every
+	 * method and to load the classes used in it to find their common
+	 * superclasses.
+	 *
+	 * @return class writer
+	 */
+	public static ClassWriter createClassWriter() {
+		return new ClassWriter(ClassWriter.COMPUTE_MAXS);
+	}
+
 	public static String signature(Class<?> cls) {
 		if (SIGNATURE_MAP.containsKey(cls.getName())) {
 			return SIGNATURE_MAP.get(cls.getName());